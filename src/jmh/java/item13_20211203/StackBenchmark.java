@@ -0,0 +1,53 @@
+package item13_20211203;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// copy-on-write clone 과 깊은 복사 clone 비교
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StackBenchmark {
+
+    @Param({"16", "10000", "1000000"})
+    int size;
+
+    private Stack stack;
+    private DeepCopyStack deepCopyStack;
+
+    @Setup
+    public void setUp() {
+        stack = new Stack();
+        deepCopyStack = new DeepCopyStack();
+        for (int i = 0; i < size; i++) {
+            stack.push(i);
+            deepCopyStack.push(i);
+        }
+    }
+
+    @Benchmark
+    public Stack copyOnWriteClone() {
+        return stack.clone();
+    }
+
+    @Benchmark
+    public DeepCopyStack deepCopyClone() {
+        return deepCopyStack.clone();
+    }
+
+    @Benchmark
+    public void copyOnWriteCloneThenPush(Blackhole bh) {
+        Stack clone = stack.clone();
+        clone.push(0);
+        bh.consume(clone);
+    }
+
+    @Benchmark
+    public void deepCopyCloneThenPush(Blackhole bh) {
+        DeepCopyStack clone = deepCopyStack.clone();
+        clone.push(0);
+        bh.consume(clone);
+    }
+}
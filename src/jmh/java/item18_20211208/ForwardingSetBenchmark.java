@@ -0,0 +1,70 @@
+package item18_20211208;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// HashSet 을 직접 쓸 때와 ForwardingSet 으로 감쌀 때의 비용 비교
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ForwardingSetBenchmark {
+
+    @Param({"1000", "1000000"})
+    int size;
+
+    private Set<Integer> hashSet;
+    private Set<Integer> forwardingSet;
+    private Set<Integer> instrumentedSet;
+    private Set<Integer> concurrentInstrumentedSet;
+    private Set<Integer> sampledInstrumentedSet;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        hashSet = new HashSet<>();
+        forwardingSet = new ForwardingSet<>(new HashSet<>());
+        instrumentedSet = new InstrumentedHashSet2<>(new HashSet<>());
+        concurrentInstrumentedSet = new ConcurrentInstrumentedSet<>(new HashSet<>());
+        sampledInstrumentedSet = new ConcurrentInstrumentedSet<>(new HashSet<>(), 1024);
+        for (int i = 0; i < size; i++) {
+            hashSet.add(i);
+            forwardingSet.add(i);
+            instrumentedSet.add(i);
+            concurrentInstrumentedSet.add(i);
+            sampledInstrumentedSet.add(i);
+        }
+    }
+
+    private int nextKey() {
+        next = (next + 1) % (2 * size);
+        return next;
+    }
+
+    @Benchmark
+    public boolean hashSetContains() {
+        return hashSet.contains(nextKey());
+    }
+
+    @Benchmark
+    public boolean forwardingSetContains() {
+        return forwardingSet.contains(nextKey());
+    }
+
+    @Benchmark
+    public boolean instrumentedSetAdd() {
+        return instrumentedSet.add(nextKey());
+    }
+
+    @Benchmark
+    public boolean concurrentInstrumentedSetContains() {
+        return concurrentInstrumentedSet.contains(nextKey());
+    }
+
+    @Benchmark
+    public boolean sampledInstrumentedSetContains() {
+        return sampledInstrumentedSet.contains(nextKey());
+    }
+}
@@ -0,0 +1,72 @@
+package item29_20211216;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// item29 의 스택들에 같은 수의 원소를 push 한 뒤 모두 pop 한다.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MyStackBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    @Benchmark
+    public void myStack(Blackhole bh) {
+        MyStack stack = new MyStack();
+        for (int i = 0; i < size; i++) {
+            stack.push(i);
+        }
+        while (!stack.isEmpty()) {
+            bh.consume(stack.pop());
+        }
+    }
+
+    @Benchmark
+    public void myStackGeneric(Blackhole bh) {
+        MyStackGeneric<Integer> stack = new MyStackGeneric<>();
+        for (int i = 0; i < size; i++) {
+            stack.push(i);
+        }
+        while (!stack.isEmpty()) {
+            bh.consume(stack.pop());
+        }
+    }
+
+    @Benchmark
+    public void intStack(Blackhole bh) {
+        IntStack stack = new IntStack();
+        for (int i = 0; i < size; i++) {
+            stack.push(i);
+        }
+        while (!stack.isEmpty()) {
+            bh.consume(stack.pop());
+        }
+    }
+
+    @Benchmark
+    public void segmentedStack(Blackhole bh) {
+        SegmentedStack<Integer> stack = new SegmentedStack<>();
+        for (int i = 0; i < size; i++) {
+            stack.push(i);
+        }
+        while (!stack.isEmpty()) {
+            bh.consume(stack.pop());
+        }
+    }
+
+    @Benchmark
+    public void persistentStack(Blackhole bh) {
+        PersistentStack<Integer> stack = PersistentStack.empty();
+        for (int i = 0; i < size; i++) {
+            stack = stack.push(i);
+        }
+        while (!stack.isEmpty()) {
+            bh.consume(stack.peek());
+            stack = stack.pop();
+        }
+    }
+}
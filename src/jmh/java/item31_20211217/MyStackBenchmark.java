@@ -0,0 +1,52 @@
+package item31_20211217;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// pushAll/popAll 일괄 처리 비교
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MyStackBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    int size;
+
+    private List<Integer> source;
+
+    @Setup
+    public void setUp() {
+        source = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            source.add(i);
+        }
+    }
+
+    @Benchmark
+    public List<Object> myStackPushAllPopAll() {
+        MyStack<Integer> stack = new MyStack<>();
+        stack.pushAll(source);
+        List<Object> dst = new ArrayList<>();
+        stack.popAll(dst);
+        return dst;
+    }
+
+    @Benchmark
+    public List<Object> concurrentStackPushAllPopAll() {
+        ConcurrentStack<Integer> stack = new ConcurrentStack<>();
+        stack.pushAll(source);
+        List<Object> dst = new ArrayList<>();
+        stack.popAll(dst);
+        return dst;
+    }
+
+    @Benchmark
+    public long myStackStreamSum() {
+        MyStack<Integer> stack = new MyStack<>();
+        stack.pushAll(source);
+        return stack.stream().mapToLong(Integer::longValue).sum();
+    }
+}
@@ -0,0 +1,26 @@
+package item7_20210424;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MyStackBenchmark {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Benchmark
+    public void pushThenPopAll(Blackhole bh) {
+        MyStack stack = new MyStack();
+        for (int i = 0; i < size; i++) {
+            stack.push(i);
+        }
+        for (int i = 0; i < size; i++) {
+            bh.consume(stack.pop());
+        }
+    }
+}
@@ -1,16 +1,157 @@
 package item13_20211203;
 
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class CloneExample3 {
+    private static final int SIZE = 100_000;
+    private static final int CLONES = 10_000;
+
+    // 복제는 많이 하고 복제본 수정은 드문 작업에서
+    // elements.clone() 으로 깊은 복사하는 clone 과 copy-on-write clone 을 비교한다.
+    public static void main(String[] args) {
+        DeepCopyStack deepCopyStack = new DeepCopyStack();
+        Stack stack = new Stack();
+        for (int i = 0; i < SIZE; i++) {
+            deepCopyStack.push(i);
+            stack.push(i);
+        }
+
+        long start1 = System.currentTimeMillis();
+        for (int i = 0; i < CLONES; i++) {
+            DeepCopyStack clone = deepCopyStack.clone();
+            if (i % 100 == 0)
+                clone.pop();
+        }
+        System.out.println("깊은 복사 clone     : " + (System.currentTimeMillis() - start1) + "ms");
+
+        long start2 = System.currentTimeMillis();
+        for (int i = 0; i < CLONES; i++) {
+            Stack clone = stack.clone();
+            if (i % 100 == 0)
+                clone.pop();
+        }
+        System.out.println("copy-on-write clone : " + (System.currentTimeMillis() - start2) + "ms");
+    }
 }
 
-class Stack {
+// clone 한 스택끼리 elements 배열을 공유하다가, 어느 한쪽이 수정할 때 그쪽만 배열을 복사한다.
+// 공유 중인 배열은 절대 수정하지 않으므로 원본과 복제본을 서로 다른 스레드에서 사용해도 안전하다.
+// 단, 스택 인스턴스 하나를 여러 스레드가 동시에 사용하는 것은 기존처럼 안전하지 않다.
+// 복제본이 수정 없이 버려져도 owners 는 줄지 않으므로 남은 쪽이 한번 더 복사할 수는 있다.
+// 버려진 복제본의 수가 쌓여 owners 가 int 범위를 넘치면 음수가 되어 혼자 소유한 것처럼 보이므로,
+// owners 는 Integer.MAX_VALUE 에서 멈추고 그 뒤로는 줄지도 않는다. (그 배열은 항상 복사해서 쓴다)
+class Stack implements Cloneable {
 
     private static final int DEFAULT_INITIAL_CAPACITY = 16;
 
-    private Object[] elements;
+    // 배열과 그 배열을 공유하는 스택의 수
+    private static final class Elements {
+        final Object[] array;
+        final AtomicInteger owners = new AtomicInteger(1);
+
+        Elements(Object[] array) {
+            this.array = array;
+        }
+
+        void share() {
+            owners.updateAndGet(n -> n == Integer.MAX_VALUE ? n : n + 1);
+        }
+
+        void release() {
+            owners.updateAndGet(n -> n == Integer.MAX_VALUE ? n : n - 1);
+        }
+    }
+
+    private Elements elements;
     private int size = 0;
 
     public Stack() {
+        this.elements = new Elements(new Object[DEFAULT_INITIAL_CAPACITY]);
+    }
+
+    public void push(Object e) {
+        prepareWrite(size + 1);
+        elements.array[size++] = e;
+    }
+
+    public Object pop() {
+        if (size == 0)
+            throw new EmptyStackException();
+        prepareWrite(size);
+        Object result = elements.array[--size];
+        elements.array[size] = null; // 다 쓴 참조 해제
+        return result;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // 배열을 복사하지 않고 소유자 수만 늘린다.
+    @Override
+    public Stack clone() {
+        try {
+            Stack result = (Stack) super.clone();
+            elements.share();
+            return result;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError();
+        }
+    }
+
+    // 배열을 혼자 소유하고 있고 minCapacity 만큼 공간이 있으면 그대로 쓴다.
+    // 그렇지 않으면 새 배열로 옮긴 뒤에 이전 배열의 소유권을 내려놓는다.
+    // 복사를 끝낸 뒤에 owners 를 줄이므로, 남은 쪽이 owners == 1 을 보았을 때는 이미 아무도 그 배열을 읽지 않는다.
+    private void prepareWrite(int minCapacity) {
+        Object[] array = elements.array;
+        boolean shared = elements.owners.get() > 1;
+        if (!shared && array.length >= minCapacity)
+            return;
+
+        int capacity = array.length >= minCapacity ? array.length : Math.max(2 * size + 1, minCapacity);
+        Elements old = elements;
+        elements = new Elements(Arrays.copyOf(array, capacity));
+        if (shared)
+            old.release();
+    }
+}
+
+// 비교용. 책의 예제처럼 clone 할 때마다 elements 배열을 복사한다.
+class DeepCopyStack implements Cloneable {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    private Object[] elements;
+    private int size = 0;
+
+    public DeepCopyStack() {
         this.elements = new Object[DEFAULT_INITIAL_CAPACITY];
     }
+
+    public void push(Object e) {
+        if (elements.length == size)
+            elements = Arrays.copyOf(elements, 2 * size + 1);
+        elements[size++] = e;
+    }
+
+    public Object pop() {
+        if (size == 0)
+            throw new EmptyStackException();
+        Object result = elements[--size];
+        elements[size] = null;
+        return result;
+    }
+
+    @Override
+    public DeepCopyStack clone() {
+        try {
+            DeepCopyStack result = (DeepCopyStack) super.clone();
+            result.elements = elements.clone();
+            return result;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError();
+        }
+    }
 }
@@ -0,0 +1,150 @@
+package item18_20211208;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.SortedSet;
+
+// contains 앞에 블룸 필터를 두는 ForwardingSet
+// 감싼 Set 의 조회가 비싸고(큰 TreeSet, 디스크 기반 Set 등) 대부분의 조회가 실패할 때 쓴다.
+// 블룸 필터가 없다고 하면 감싼 Set 을 건드리지 않고 바로 false 를 반환한다.
+// remove 로 지운 원소의 비트는 남아있으므로 오탐이 늘어날 수 있다. clear, removeAll, retainAll 은 필터를 다시 만든다.
+// 필터는 hashCode 로 비트를 고르므로, 감싼 Set 도 equals/hashCode 로 원소를 판단해야 한다.
+// Comparator 를 받은 TreeSet(String.CASE_INSENSITIVE_ORDER 등)은 equals 가 다른 원소도 같다고 보므로
+// 필터가 없다고 답한 원소를 Set 은 가지고 있을 수 있다. (블룸 필터에서 있어서는 안 되는 미탐) 그래서 생성자에서 거부한다.
+// 자연 순서를 쓰는 SortedSet 도 compareTo 가 equals 와 일관되어야 한다. (아이템14)
+public class BloomFilterSet<E> extends ForwardingSet<E> {
+    private final int bitCount;
+    private final int hashCount;
+    private final long[] bits;
+
+    private long definiteMissCount = 0;   // 필터만으로 걸러낸 조회
+    private long falsePositiveCount = 0;  // 필터는 통과했지만 실제로는 없던 조회
+
+    // expectedSize 개의 원소를 넣었을 때 오탐률이 falsePositiveRate 가 되도록 필터 크기를 정한다.
+    public BloomFilterSet(Set<E> s, int expectedSize, double falsePositiveRate) {
+        super(s);
+        if (s instanceof SortedSet && ((SortedSet<E>) s).comparator() != null)
+            throw new IllegalArgumentException("Comparator 로 원소를 비교하는 SortedSet 은 감쌀 수 없습니다: " + ((SortedSet<E>) s).comparator());
+        if (expectedSize <= 0)
+            throw new IllegalArgumentException("expectedSize 는 양수여야 합니다: " + expectedSize);
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1))
+            throw new IllegalArgumentException("falsePositiveRate 는 0과 1 사이여야 합니다: " + falsePositiveRate);
+
+        double m = -expectedSize * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, Math.ceil(m)));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedSize * Math.log(2)));
+        this.bits = new long[(bitCount + 63) >>> 6];
+        fillBits(); // 생성자에서는 재정의 가능한 메서드를 호출하지 않는다. (아이템19)
+    }
+
+    @Override
+    public boolean add(E e) {
+        setBits(e);
+        return super.add(e);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        for (E e : c) {
+            setBits(e);
+        }
+        return super.addAll(c);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!mightContain(o)) {
+            definiteMissCount++;
+            return false;
+        }
+        boolean result = super.contains(o);
+        if (!result)
+            falsePositiveCount++;
+        return result;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        boolean modified = super.removeAll(c);
+        if (modified) {
+            Arrays.fill(bits, 0L);
+            fillBits();
+        }
+        return modified;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        boolean modified = super.retainAll(c);
+        if (modified) {
+            Arrays.fill(bits, 0L);
+            fillBits();
+        }
+        return modified;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        Arrays.fill(bits, 0L);
+    }
+
+    // 없는 원소를 조회했을 때 필터를 통과한 비율
+    public double measuredFalsePositiveRate() {
+        long negatives = definiteMissCount + falsePositiveCount;
+        return negatives == 0 ? 0.0 : (double) falsePositiveCount / negatives;
+    }
+
+    public long definiteMissCount() {
+        return definiteMissCount;
+    }
+
+    public long falsePositiveCount() {
+        return falsePositiveCount;
+    }
+
+    // 감싼 Set 의 현재 원소로 필터를 다시 만든다.
+    public void rebuild() {
+        Arrays.fill(bits, 0L);
+        fillBits();
+    }
+
+    private void fillBits() {
+        for (Iterator<E> it = super.iterator(); it.hasNext(); ) {
+            setBits(it.next());
+        }
+    }
+
+    // 해시 두개를 조합해서 k 개의 위치를 만든다. (Kirsch-Mitzenmacher)
+    private boolean mightContain(Object o) {
+        long hash = mix(o == null ? 0 : o.hashCode());
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bitCount;
+            if ((bits[bit >>> 6] & (1L << bit)) == 0)
+                return false;
+        }
+        return true;
+    }
+
+    private void setBits(Object o) {
+        long hash = mix(o == null ? 0 : o.hashCode());
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bitCount;
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    // hashCode 가 단순한 타입(Integer 등)도 비트가 고르게 퍼지도록 섞는다. (SplitMix64 의 마무리 단계)
+    private static long mix(int hashCode) {
+        long z = hashCode * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,43 @@
+package item18_20211208;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+// 조회 대부분이 실패하는 큰 TreeSet 앞에 블룸 필터를 두었을 때의 효과
+public class BloomFilterSetEx {
+    private static final int SIZE = 1_000_000;
+    private static final int LOOKUPS = 10_000_000;
+
+    public static void main(String[] args) {
+        Set<String> treeSet = new ForwardingSet<>(new TreeSet<>());
+        BloomFilterSet<String> bloomFilterSet = new BloomFilterSet<>(new TreeSet<>(), SIZE, 0.01);
+        for (int i = 0; i < SIZE; i++) {
+            treeSet.add("key-" + i);
+            bloomFilterSet.add("key-" + i);
+        }
+
+        // 90% 는 없는 키를 조회한다.
+        String[] keys = new String[1024];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "key-" + (i % 10 == 0 ? i : SIZE + i);
+        }
+
+        long start1 = System.currentTimeMillis();
+        int hits1 = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (treeSet.contains(keys[i & 1023]))
+                hits1++;
+        }
+        long start2 = System.currentTimeMillis();
+        int hits2 = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (bloomFilterSet.contains(keys[i & 1023]))
+                hits2++;
+        }
+        long end = System.currentTimeMillis();
+
+        System.out.println("TreeSet        : " + (start2 - start1) + "ms, 적중 " + hits1);
+        System.out.println("BloomFilterSet : " + (end - start2) + "ms, 적중 " + hits2);
+        System.out.printf("측정한 오탐률 = %.4f (목표 0.01)%n", bloomFilterSet.measuredFalsePositiveRate());
+    }
+}
@@ -0,0 +1,160 @@
+package item18_20211208;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// InstrumentedHashSet2 의 addCount 는 평범한 int 라서 여러 스레드가 동시에 add 하면 갱신을 잃어버린다.
+// 카운터를 LongAdder 로 바꾸고 remove, contains 적중/실패, clear 까지 센다.
+// 스레드 안전성은 감싸는 Set 에 달려 있다. (예: ConcurrentHashMap.newKeySet())
+public class ConcurrentInstrumentedSet<E> extends ForwardingSet<E> {
+
+    private final LongAdder addCount = new LongAdder();
+    private final LongAdder removeCount = new LongAdder();
+    private final LongAdder containsHitCount = new LongAdder();
+    private final LongAdder containsMissCount = new LongAdder();
+    private final LongAdder clearCount = new LongAdder();
+
+    // 샘플링을 끄면 null 이다.
+    private final LatencyHistogram latency;
+    private final int sampleMask;
+
+    public ConcurrentInstrumentedSet(Set<E> s) {
+        super(s);
+        this.latency = null;
+        this.sampleMask = 0;
+    }
+
+    // 대략 sampleInterval 번에 한번 연산 시간을 재서 히스토그램에 기록한다.
+    // sampleInterval 은 2의 거듭제곱이어야 한다.
+    public ConcurrentInstrumentedSet(Set<E> s, int sampleInterval) {
+        super(s);
+        if (sampleInterval <= 0 || Integer.bitCount(sampleInterval) != 1)
+            throw new IllegalArgumentException("sampleInterval 은 2의 거듭제곱이어야 합니다: " + sampleInterval);
+        this.latency = new LatencyHistogram();
+        this.sampleMask = sampleInterval - 1;
+    }
+
+    @Override
+    public boolean add(E e) {
+        addCount.increment();
+        if (!sampled())
+            return super.add(e);
+        long start = System.nanoTime();
+        boolean result = super.add(e);
+        latency.record(System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        addCount.add(c.size());
+        return super.addAll(c);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        removeCount.increment();
+        if (!sampled())
+            return super.remove(o);
+        long start = System.nanoTime();
+        boolean result = super.remove(o);
+        latency.record(System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        removeCount.add(c.size());
+        return super.removeAll(c);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        boolean result;
+        if (!sampled()) {
+            result = super.contains(o);
+        } else {
+            long start = System.nanoTime();
+            result = super.contains(o);
+            latency.record(System.nanoTime() - start);
+        }
+        (result ? containsHitCount : containsMissCount).increment();
+        return result;
+    }
+
+    @Override
+    public void clear() {
+        clearCount.increment();
+        super.clear();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(addCount.sum(), removeCount.sum(),
+                containsHitCount.sum(), containsMissCount.sum(), clearCount.sum(),
+                latency == null ? new long[0] : latency.snapshot());
+    }
+
+    private boolean sampled() {
+        return latency != null && (ThreadLocalRandom.current().nextInt() & sampleMask) == 0;
+    }
+
+    // 스냅샷을 뜨는 동안에도 다른 스레드가 갱신할 수 있으므로 카운터끼리 정확히 같은 시점의 값은 아니다.
+    public static final class Snapshot {
+        private final long addCount;
+        private final long removeCount;
+        private final long containsHitCount;
+        private final long containsMissCount;
+        private final long clearCount;
+        private final long[] latencyBuckets;
+
+        private Snapshot(long addCount, long removeCount, long containsHitCount,
+                         long containsMissCount, long clearCount, long[] latencyBuckets) {
+            this.addCount = addCount;
+            this.removeCount = removeCount;
+            this.containsHitCount = containsHitCount;
+            this.containsMissCount = containsMissCount;
+            this.clearCount = clearCount;
+            this.latencyBuckets = latencyBuckets;
+        }
+
+        public long addCount() {
+            return addCount;
+        }
+
+        public long removeCount() {
+            return removeCount;
+        }
+
+        public long containsHitCount() {
+            return containsHitCount;
+        }
+
+        public long containsMissCount() {
+            return containsMissCount;
+        }
+
+        public long clearCount() {
+            return clearCount;
+        }
+
+        // 샘플링을 끈 경우 빈 배열
+        public long[] latencyBuckets() {
+            return latencyBuckets.clone();
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" +
+                    "addCount=" + addCount +
+                    ", removeCount=" + removeCount +
+                    ", containsHitCount=" + containsHitCount +
+                    ", containsMissCount=" + containsMissCount +
+                    ", clearCount=" + clearCount +
+                    ", latencyBuckets=" + Arrays.toString(latencyBuckets) +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package item18_20211208;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ConcurrentInstrumentedSetEx {
+    private static final int THREADS = 8;
+    private static final int ADDS_PER_THREAD = 1_000_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        // InstrumentedHashSet2 는 동시에 add 하면 addCount 를 잃어버린다.
+        InstrumentedHashSet2<Integer> unsafe = new InstrumentedHashSet2<>(ConcurrentHashMap.newKeySet());
+        run(unsafe);
+        System.out.println("InstrumentedHashSet2 addCount = " + unsafe.getAddCount()
+                + " (기대값 " + THREADS * ADDS_PER_THREAD + ")");
+
+        ConcurrentInstrumentedSet<Integer> safe = new ConcurrentInstrumentedSet<>(ConcurrentHashMap.newKeySet(), 1024);
+        run(safe);
+        System.out.println("ConcurrentInstrumentedSet      = " + safe.snapshot());
+    }
+
+    private static void run(Set<Integer> set) throws InterruptedException {
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t * ADDS_PER_THREAD;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < ADDS_PER_THREAD; i++) {
+                    set.add(offset + i);
+                    set.contains(i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+}
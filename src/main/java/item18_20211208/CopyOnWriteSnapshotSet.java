@@ -0,0 +1,176 @@
+package item18_20211208;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+// 읽기가 대부분이고 쓰기는 드문 Set (예: 설정값 집합)
+// 불변 스냅샷(오픈 어드레싱 해시 배열)을 volatile 참조로 공개한다.
+// 읽기는 잠금도, 할당도 하지 않는다. 쓰기는 스냅샷 전체를 다시 만든다.
+// 여러 원소를 바꿀 때는 batch 로 한번에 다시 만들자.
+// null 원소는 허용하지 않는다.
+public class CopyOnWriteSnapshotSet<E> extends AbstractSet<E> {
+
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new Object[0]);
+
+        final Object[] elements; // 순회용, 삽입 순서
+        final Object[] table;    // 선형 탐사 해시 테이블, 빈 칸은 null
+        final int mask;
+
+        Snapshot(Object[] elements) {
+            this.elements = elements;
+            int capacity = Integer.highestOneBit(Math.max(1, elements.length) * 2 - 1) << 1;
+            this.table = new Object[capacity];
+            this.mask = capacity - 1;
+            for (Object e : elements) {
+                int i = spread(e.hashCode()) & mask;
+                while (table[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = e;
+            }
+        }
+
+        boolean contains(Object o) {
+            int i = spread(o.hashCode()) & mask;
+            Object current;
+            while ((current = table[i]) != null) {
+                if (current.equals(o))
+                    return true;
+                i = (i + 1) & mask;
+            }
+            return false;
+        }
+
+        static int spread(int h) {
+            return h ^ (h >>> 16);
+        }
+    }
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public CopyOnWriteSnapshotSet() {
+    }
+
+    public CopyOnWriteSnapshotSet(Collection<? extends E> c) {
+        publish(new LinkedHashSet<>(c));
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o != null && snapshot.contains(o);
+    }
+
+    @Override
+    public int size() {
+        return snapshot.elements.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return snapshot.elements.length == 0;
+    }
+
+    // 만들어진 시점의 스냅샷을 순회한다. 순회 중의 변경은 보이지 않으며 remove 는 지원하지 않는다.
+    @Override
+    public Iterator<E> iterator() {
+        Object[] elements = snapshot.elements;
+        return new Iterator<E>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < elements.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (index >= elements.length)
+                    throw new NoSuchElementException();
+                return (E) elements[index++];
+            }
+        };
+    }
+
+    @Override
+    public Object[] toArray() {
+        return snapshot.elements.clone();
+    }
+
+    @Override
+    public synchronized boolean add(E e) {
+        Objects.requireNonNull(e);
+        if (snapshot.contains(e))
+            return false;
+        Object[] elements = snapshot.elements;
+        Object[] grown = Arrays.copyOf(elements, elements.length + 1);
+        grown[elements.length] = e;
+        snapshot = new Snapshot(grown);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean remove(Object o) {
+        if (!contains(o))
+            return false;
+        Set<E> copy = copy();
+        copy.remove(o);
+        publish(copy);
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        return batch(set -> set.addAll(c));
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return batch(set -> set.removeAll(c));
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return batch(set -> set.retainAll(c));
+    }
+
+    @Override
+    public synchronized void clear() {
+        snapshot = Snapshot.EMPTY;
+    }
+
+    // 변경 가능한 복사본에 changes 를 적용하고 스냅샷을 한번만 다시 만든다.
+    // 내용이 바뀌었으면 true 를 반환한다.
+    public synchronized boolean batch(Consumer<? super Set<E>> changes) {
+        Set<E> copy = copy();
+        changes.accept(copy);
+        if (copy.size() == size() && containsAll(copy))
+            return false;
+        publish(copy);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<E> copy() {
+        Set<E> copy = new LinkedHashSet<>();
+        for (Object e : snapshot.elements) {
+            copy.add((E) e);
+        }
+        return copy;
+    }
+
+    private void publish(Set<E> elements) {
+        for (E e : elements) {
+            Objects.requireNonNull(e);
+        }
+        snapshot = new Snapshot(elements.toArray());
+    }
+}
@@ -0,0 +1,56 @@
+package item18_20211208;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+// 읽기 스레드 여러개와 가끔 쓰는 스레드 하나로
+// synchronized 로 감싼 ForwardingSet 과 CopyOnWriteSnapshotSet 을 비교한다.
+public class CopyOnWriteSnapshotSetEx {
+    private static final int READERS = 8;
+    private static final int READS_PER_THREAD = 5_000_000;
+    private static final String[] KEYS = {"timeout", "retry", "pool-size", "region", "feature-x", "feature-y"};
+
+    public static void main(String[] args) throws InterruptedException {
+        Set<String> synchronizedSet = Collections.synchronizedSet(new ForwardingSet<>(new HashSet<>()));
+        CopyOnWriteSnapshotSet<String> snapshotSet = new CopyOnWriteSnapshotSet<>();
+        for (int i = 0; i < 3; i++) {
+            synchronizedSet.add(KEYS[i]);
+            snapshotSet.add(KEYS[i]);
+        }
+
+        for (int round = 0; round < 3; round++) {
+            System.out.printf("synchronized ForwardingSet = %dms, CopyOnWriteSnapshotSet = %dms%n",
+                    run(synchronizedSet), run(snapshotSet));
+        }
+
+        // 여러 원소를 바꿀 때는 스냅샷을 한번만 다시 만든다.
+        snapshotSet.batch(set -> {
+            set.add("feature-x");
+            set.add("feature-y");
+            set.remove("retry");
+        });
+        System.out.println(snapshotSet);
+    }
+
+    private static long run(Set<String> set) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(READERS);
+        long start = System.currentTimeMillis();
+        for (int t = 0; t < READERS; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < READS_PER_THREAD; i++) {
+                    set.contains(KEYS[i % KEYS.length]);
+                }
+                done.countDown();
+            }).start();
+        }
+        // 읽는 도중 가끔 쓴다.
+        for (int i = 0; i < 10; i++) {
+            set.add("temp");
+            set.remove("temp");
+        }
+        done.await();
+        return System.currentTimeMillis() - start;
+    }
+}
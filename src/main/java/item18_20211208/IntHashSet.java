@@ -0,0 +1,239 @@
+package item18_20211208;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+// int 전용 오픈 어드레싱(선형 탐사) 해시 집합
+// HashSet<Integer> 는 원소마다 Integer 객체와 HashMap 노드를 만들지만, IntHashSet 은 int 배열 하나에 저장한다.
+// Set<Integer> 를 구현하므로 ForwardingSet, InstrumentedHashSet2 에 그대로 넘길 수 있다.
+// 단, Set<Integer> 메서드를 통해 사용하면 그때마다 박싱이 일어난다.
+public class IntHashSet extends AbstractSet<Integer> {
+    public static final int DEFAULT_INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    // 0 은 빈 칸 표시로 쓰므로 원소 0 은 따로 기록한다.
+    private static final int EMPTY = 0;
+
+    private int[] table;
+    private int mask;
+    private int shift;
+    private int size = 0;
+    private boolean containsZero = false;
+    private int resizeThreshold;
+    private int modCount = 0;
+
+    public IntHashSet() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public IntHashSet(int expectedSize) {
+        if (expectedSize < 0)
+            throw new IllegalArgumentException("expectedSize 는 음수일 수 없습니다: " + expectedSize);
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public boolean add(int value) {
+        if (value == EMPTY) {
+            if (containsZero)
+                return false;
+            containsZero = true;
+            size++;
+            modCount++;
+            return true;
+        }
+        int i = indexOf(value);
+        while (table[i] != EMPTY) {
+            if (table[i] == value)
+                return false;
+            i = (i + 1) & mask;
+        }
+        table[i] = value;
+        size++;
+        modCount++;
+        if (size > resizeThreshold)
+            rehash(table.length * 2);
+        return true;
+    }
+
+    public boolean contains(int value) {
+        if (value == EMPTY)
+            return containsZero;
+        int i = indexOf(value);
+        int current;
+        while ((current = table[i]) != EMPTY) {
+            if (current == value)
+                return true;
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    public boolean remove(int value) {
+        if (value == EMPTY) {
+            if (!containsZero)
+                return false;
+            containsZero = false;
+            size--;
+            modCount++;
+            return true;
+        }
+        int i = indexOf(value);
+        while (table[i] != EMPTY) {
+            if (table[i] == value) {
+                shiftBack(i);
+                size--;
+                modCount++;
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean add(Integer value) {
+        return add(value.intValue());
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Integer && contains(((Integer) o).intValue());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return o instanceof Integer && remove(((Integer) o).intValue());
+    }
+
+    // 반복자가 remove 를 지원하지 않으므로 AbstractSet 의 구현 대신 직접 지운다.
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        boolean modified = false;
+        for (Object o : c) {
+            modified |= remove(o);
+        }
+        return modified;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        boolean modified = false;
+        for (int value : toIntArray()) {
+            if (!c.contains(value))
+                modified |= remove(value);
+        }
+        return modified;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(table, EMPTY);
+        containsZero = false;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new IntIterator();
+    }
+
+    public int[] toIntArray() {
+        int[] result = new int[size];
+        int n = 0;
+        if (containsZero)
+            result[n++] = EMPTY;
+        for (int value : table) {
+            if (value != EMPTY)
+                result[n++] = value;
+        }
+        return result;
+    }
+
+    // 삭제한 칸 뒤로 이어진 원소들을 앞으로 당겨서 탐사 사슬이 끊기지 않게 한다. (삭제 표시를 쓰지 않는다)
+    private void shiftBack(int hole) {
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            int value = table[i];
+            if (value == EMPTY)
+                break;
+            int home = indexOf(value);
+            // home 이 (hole, i] 구간 밖이면 hole 로 옮겨도 탐색할 때 찾을 수 있다.
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                table[hole] = value;
+                hole = i;
+            }
+        }
+        table[hole] = EMPTY;
+    }
+
+    private int indexOf(int value) {
+        return (value * 0x9E3779B9) >>> shift; // 피보나치 해싱: 곱한 값의 상위 비트를 쓴다.
+    }
+
+    private void rehash(int newCapacity) {
+        int[] old = table;
+        allocate(newCapacity);
+        for (int value : old) {
+            if (value != EMPTY) {
+                int i = indexOf(value);
+                while (table[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = value;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        table = new int[capacity];
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        long needed = Math.max(2, (long) Math.ceil(expectedSize / LOAD_FACTOR) + 1);
+        if (needed > (1 << 30))
+            throw new IllegalArgumentException("원소가 너무 많습니다: " + expectedSize);
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    private class IntIterator implements PrimitiveIterator.OfInt {
+        private int index = containsZero ? -1 : 0; // -1 은 원소 0
+        private int remaining = size;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (remaining == 0)
+                throw new NoSuchElementException();
+            remaining--;
+            if (index == -1) {
+                index = 0;
+                return EMPTY;
+            }
+            while (table[index] == EMPTY) {
+                index++;
+            }
+            return table[index++];
+        }
+    }
+}
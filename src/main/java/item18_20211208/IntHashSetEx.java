@@ -0,0 +1,72 @@
+package item18_20211208;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+// HashSet<Integer> 와 IntHashSet 의 원소당 메모리, contains 처리량 비교
+public class IntHashSetEx {
+    private static final int SIZE = 1_000_000;
+    private static final int LOOKUPS = 50_000_000;
+    private static final int LOOKUPS_KEYS = 1 << 20;
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        long before1 = allocatedBytes();
+        Set<Integer> hashSet = new ForwardingSet<>(new HashSet<>());
+        for (int i = 0; i < SIZE; i++) {
+            hashSet.add(i * 7);
+        }
+        long hashSetBytes = allocatedBytes() - before1;
+
+        long before2 = allocatedBytes();
+        IntHashSet intHashSet = new IntHashSet(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            intHashSet.add(i * 7);
+        }
+        long intHashSetBytes = allocatedBytes() - before2;
+
+        // 할당량은 만드는 동안 할당한 전체 바이트이므로 중간에 버려진 테이블도 포함된다.
+        System.out.printf("HashSet<Integer> : 원소당 약 %d bytes 할당%n", hashSetBytes / SIZE);
+        System.out.printf("IntHashSet       : 원소당 약 %d bytes 할당%n", intHashSetBytes / SIZE);
+
+        // 조회할 키는 미리 무작위로 만들어 둔다. (절반 정도는 없는 키)
+        int[] keys = new int[LOOKUPS_KEYS];
+        Random random = new Random(42);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(SIZE * 14);
+        }
+
+        Set<Integer> forwardingIntHashSet = new ForwardingSet<>(intHashSet);
+        for (int round = 0; round < 3; round++) {
+            long start1 = System.currentTimeMillis();
+            int hits1 = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                if (hashSet.contains(keys[i & (LOOKUPS_KEYS - 1)]))
+                    hits1++;
+            }
+            long start2 = System.currentTimeMillis();
+            int hits2 = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                if (intHashSet.contains(keys[i & (LOOKUPS_KEYS - 1)]))
+                    hits2++;
+            }
+            long start3 = System.currentTimeMillis();
+            int hits3 = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                if (forwardingIntHashSet.contains(keys[i & (LOOKUPS_KEYS - 1)]))
+                    hits3++;
+            }
+            long end = System.currentTimeMillis();
+            System.out.printf("contains %d번: HashSet<Integer> = %dms, IntHashSet = %dms, ForwardingSet(IntHashSet) = %dms (%d, %d, %d)%n",
+                    LOOKUPS, start2 - start1, start3 - start2, end - start3, hits1, hits2, hits3);
+        }
+    }
+
+    private static long allocatedBytes() {
+        return THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
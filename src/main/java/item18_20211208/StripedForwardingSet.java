@@ -0,0 +1,194 @@
+package item18_20211208;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+// 원소를 해시값에 따라 N 개의 stripe 로 나누고, stripe 마다 따로 잠그는 Set
+// synchronized Set 은 모든 스레드가 모니터 하나에서 줄을 서지만, 여기서는 같은 stripe 를 건드릴 때만 경쟁한다.
+// 각 stripe 는 ForwardingSet 처럼 주어진 Set 구현체에 위임한다.
+public class StripedForwardingSet<E> extends AbstractSet<E> {
+    public static final int DEFAULT_STRIPES = 64;
+
+    private static final class Stripe<E> {
+        final Set<E> set;
+        volatile int size = 0; // 잠금 안에서만 쓰고, size() 에서는 잠금 없이 읽는다.
+
+        Stripe(Set<E> set) {
+            this.set = set;
+        }
+    }
+
+    private final Stripe<E>[] stripes;
+    private final int shift; // 섞은 해시의 상위 log2(stripes) 비트로 스트라이프를 고른다.
+
+    public StripedForwardingSet(Supplier<? extends Set<E>> factory) {
+        this(factory, DEFAULT_STRIPES);
+    }
+
+    // stripes 는 2의 거듭제곱으로 올림한다.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public StripedForwardingSet(Supplier<? extends Set<E>> factory, int stripes) {
+        if (stripes <= 0)
+            throw new IllegalArgumentException("stripes 는 양수여야 합니다: " + stripes);
+        int n = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new Stripe[n];
+        for (int i = 0; i < n; i++) {
+            Set<E> set = Objects.requireNonNull(factory.get());
+            if (!set.isEmpty())
+                throw new IllegalArgumentException("factory 는 빈 Set 을 반환해야 합니다.");
+            this.stripes[i] = new Stripe<>(set);
+        }
+        this.shift = 32 - Integer.numberOfTrailingZeros(n);
+    }
+
+    @Override
+    public boolean add(E e) {
+        Stripe<E> stripe = stripeFor(e);
+        synchronized (stripe) {
+            boolean added = stripe.set.add(e);
+            if (added)
+                stripe.size++;
+            return added;
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        Stripe<E> stripe = stripeFor(o);
+        synchronized (stripe) {
+            boolean removed = stripe.set.remove(o);
+            if (removed)
+                stripe.size--;
+            return removed;
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        Stripe<E> stripe = stripeFor(o);
+        synchronized (stripe) {
+            return stripe.set.contains(o);
+        }
+    }
+
+    // 각 stripe 의 카운터를 잠금 없이 더한다. 다른 스레드가 수정 중이면 근사값이다.
+    @Override
+    public int size() {
+        long sum = 0;
+        for (Stripe<E> stripe : stripes) {
+            sum += stripe.size;
+        }
+        return (int) Math.min(sum, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (Stripe<E> stripe : stripes) {
+            if (stripe.size != 0)
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        boolean modified = false;
+        for (E e : c) {
+            modified |= add(e);
+        }
+        return modified;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        boolean modified = false;
+        for (Object o : c) {
+            modified |= remove(o);
+        }
+        return modified;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        boolean modified = false;
+        for (Stripe<E> stripe : stripes) {
+            synchronized (stripe) {
+                if (stripe.set.retainAll(c)) {
+                    stripe.size = stripe.set.size();
+                    modified = true;
+                }
+            }
+        }
+        return modified;
+    }
+
+    @Override
+    public void clear() {
+        for (Stripe<E> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.set.clear();
+                stripe.size = 0;
+            }
+        }
+    }
+
+    // 약한 일관성(weakly consistent) 반복자
+    // stripe 하나씩 잠근 상태에서 복사해 두고 순회하므로 ConcurrentModificationException 을 던지지 않는다.
+    // 순회 중에 일어난 수정은 반영될 수도, 안 될 수도 있다.
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int nextStripe = 0;
+            private Object[] current = new Object[0];
+            private int index = 0;
+            private Object last;
+            private boolean canRemove = false;
+
+            @Override
+            public boolean hasNext() {
+                while (index == current.length && nextStripe < stripes.length) {
+                    Stripe<E> stripe = stripes[nextStripe++];
+                    synchronized (stripe) {
+                        current = stripe.set.toArray();
+                    }
+                    index = 0;
+                }
+                return index < current.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                last = current[index++];
+                canRemove = true;
+                return (E) last;
+            }
+
+            @Override
+            public void remove() {
+                if (!canRemove)
+                    throw new IllegalStateException();
+                canRemove = false;
+                StripedForwardingSet.this.remove(last);
+            }
+        };
+    }
+
+    // HashSet 은 하위 비트로 버킷을 고른다. 스트라이프도 하위 비트로 고르면 한 스트라이프의 원소들은
+    // 하위 비트가 모두 같아서 그 안의 HashSet 이 버킷의 1/stripes 만 쓰게 된다.
+    // 그래서 해시를 곱해서 섞은 뒤 상위 비트로 고른다. (스트라이프가 하나면 shift 가 32 라서 따로 처리한다)
+    private Stripe<E> stripeFor(Object o) {
+        if (stripes.length == 1)
+            return stripes[0];
+        int h = Objects.hashCode(o) * 0x9E3779B9;
+        return stripes[h >>> shift];
+    }
+}
@@ -0,0 +1,53 @@
+package item18_20211208;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+// synchronized 로 감싼 ForwardingSet 과 StripedForwardingSet 을 스레드 수를 늘려가며 비교한다.
+// 각 스레드는 add 1번에 contains 3번 비율로 섞어서 호출한다.
+public class StripedForwardingSetEx {
+    private static final int OPERATIONS_PER_THREAD = 1_000_000;
+    private static final int KEY_RANGE = 100_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int threads = 1; threads <= 64; threads *= 2) {
+            Set<Integer> synchronizedSet = Collections.synchronizedSet(new ForwardingSet<>(new HashSet<>()));
+            Set<Integer> stripedSet = new StripedForwardingSet<>(HashSet::new);
+            long synchronizedMillis = run(threads, synchronizedSet);
+            long stripedMillis = run(threads, stripedSet);
+            System.out.printf("threads = %2d, synchronized ForwardingSet = %5dms, StripedForwardingSet = %5dms (size %d, %d)%n",
+                    threads, synchronizedMillis, stripedMillis, synchronizedSet.size(), stripedSet.size());
+        }
+    }
+
+    private static long run(int threads, Set<Integer> set) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    int key = random.nextInt(KEY_RANGE);
+                    if ((i & 3) == 0)
+                        set.add(key);
+                    else
+                        set.contains(key);
+                }
+                done.countDown();
+            }).start();
+        }
+        long begin = System.currentTimeMillis();
+        start.countDown();
+        done.await();
+        return System.currentTimeMillis() - begin;
+    }
+}
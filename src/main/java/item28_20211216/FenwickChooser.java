@@ -0,0 +1,135 @@
+package item28_20211216;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.StampedLock;
+
+// 가중치가 계속 바뀌는 경우를 위한 Chooser
+// 가중치를 펜윅 트리(binary indexed tree)에 담아서 updateWeight 와 choose 모두 O(log n) 에 처리한다.
+// alias 표나 GenericChooser2 의 choiceList 처럼 가중치가 바뀔 때마다 전부 다시 만들 필요가 없다.
+// 가중치는 정수(long)로 받는다. 부동소수점 오차가 갱신할 때마다 쌓이지 않게 하기 위해서다.
+//
+// 쓰는 스레드 하나와 읽는 스레드 여러개가 동시에 사용해도 안전하다.
+// 읽기는 StampedLock 의 낙관적 읽기로 잠금 없이 진행하고, 그 사이 갱신이 있었을 때만 다시 읽는다.
+public class FenwickChooser<T> {
+    private final List<T> choiceList;
+    private final long[] weights;
+    private final long[] tree; // 1부터 시작하는 펜윅 트리
+    private final int highestBit;
+    private long totalWeight = 0;
+
+    private final StampedLock lock = new StampedLock();
+
+    // 처음에는 모든 가중치가 0 이다.
+    public FenwickChooser(Collection<T> choices) {
+        if (choices.isEmpty())
+            throw new IllegalArgumentException("선택지가 비어 있습니다.");
+        this.choiceList = new ArrayList<>(choices); // 방어적 복사
+        int n = choiceList.size();
+        this.weights = new long[n];
+        this.tree = new long[n + 1];
+        this.highestBit = Integer.highestOneBit(n);
+    }
+
+    public FenwickChooser(Collection<T> choices, long[] initialWeights) {
+        this(choices);
+        if (initialWeights.length != choiceList.size())
+            throw new IllegalArgumentException("가중치 수가 선택지 수와 다릅니다: " + initialWeights.length);
+        // O(n) 으로 트리를 만든다.
+        for (int i = 0; i < initialWeights.length; i++) {
+            checkWeight(initialWeights[i]);
+            weights[i] = initialWeights[i];
+            totalWeight = Math.addExact(totalWeight, initialWeights[i]);
+            tree[i + 1] += initialWeights[i];
+            int parent = (i + 1) + ((i + 1) & -(i + 1));
+            if (parent <= weights.length)
+                tree[parent] += tree[i + 1];
+        }
+    }
+
+    // 쓰는 스레드는 하나여야 한다. (여러 스레드가 쓰더라도 잠금으로 직렬화되어 안전하긴 하다)
+    public void updateWeight(int index, long weight) {
+        checkWeight(weight);
+        long stamp = lock.writeLock();
+        try {
+            long delta = weight - weights[index];
+            if (delta == 0)
+                return;
+            totalWeight = Math.addExact(totalWeight, delta);
+            weights[index] = weight;
+            for (int i = index + 1; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public long weight(int index) {
+        long stamp = lock.tryOptimisticRead();
+        long weight = weights[index];
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                weight = weights[index];
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return weight;
+    }
+
+    public T choose() {
+        return choiceList.get(chooseIndex(null));
+    }
+
+    public T choose(SplittableRandom rnd) {
+        return choiceList.get(chooseIndex(rnd));
+    }
+
+    private int chooseIndex(SplittableRandom rnd) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            long total = totalWeight;
+            if (total > 0) {
+                int index = search(nextLong(rnd, total));
+                // 갱신 도중의 값을 읽었을 수 있으므로 검증을 통과한 결과만 쓴다.
+                if (lock.validate(stamp) && index < weights.length)
+                    return index;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            if (totalWeight <= 0)
+                throw new IllegalStateException("가중치의 합이 0 입니다.");
+            return search(nextLong(rnd, totalWeight));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // 누적 가중치가 r 을 넘는 첫번째 인덱스를 트리를 내려가며 찾는다.
+    private int search(long r) {
+        int pos = 0;
+        for (int step = highestBit; step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next < tree.length && tree[next] <= r) {
+                pos = next;
+                r -= tree[next];
+            }
+        }
+        return pos;
+    }
+
+    private static long nextLong(SplittableRandom rnd, long bound) {
+        return rnd == null ? ThreadLocalRandom.current().nextLong(bound) : rnd.nextLong(bound);
+    }
+
+    private static void checkWeight(long weight) {
+        if (weight < 0)
+            throw new IllegalArgumentException("가중치는 음수일 수 없습니다: " + weight);
+    }
+}
@@ -0,0 +1,73 @@
+package item28_20211216;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 쓰는 스레드 하나가 가중치를 계속 바꾸는 동안 읽는 스레드들이 고른다.
+// 마지막에 가중치를 고정하고 고른 비율이 가중치와 맞는지 확인한다.
+public class FenwickChooserEx {
+    private static final int BACKENDS = 1_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        List<String> backends = new ArrayList<>();
+        for (int i = 0; i < BACKENDS; i++) {
+            backends.add("backend-" + i);
+        }
+        FenwickChooser<String> chooser = new FenwickChooser<>(backends);
+        for (int i = 0; i < BACKENDS; i++) {
+            chooser.updateWeight(i, 1 + i % 10);
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread writer = new Thread(() -> {
+            SplittableRandom rnd = new SplittableRandom(1);
+            long updates = 0;
+            while (running.get()) {
+                chooser.updateWeight(rnd.nextInt(BACKENDS), 1 + rnd.nextInt(100));
+                updates++;
+            }
+            System.out.println("가중치 갱신 " + updates + "번");
+        });
+        Thread[] readers = new Thread[4];
+        for (int t = 0; t < readers.length; t++) {
+            readers[t] = new Thread(() -> {
+                for (int i = 0; i < 5_000_000; i++) {
+                    chooser.choose();
+                }
+            });
+        }
+
+        long start = System.currentTimeMillis();
+        writer.start();
+        for (Thread reader : readers) {
+            reader.start();
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        running.set(false);
+        writer.join();
+        System.out.println("choose 2천만번 (갱신과 동시에) : " + (System.currentTimeMillis() - start) + "ms");
+
+        // 가중치를 고정하고 분포 확인: backend-i 의 가중치는 i + 1
+        long total = 0;
+        for (int i = 0; i < BACKENDS; i++) {
+            chooser.updateWeight(i, i + 1);
+            total += i + 1;
+        }
+        int[] observed = new int[BACKENDS];
+        SplittableRandom rnd = new SplittableRandom(7);
+        int samples = 10_000_000;
+        for (int i = 0; i < samples; i++) {
+            observed[Integer.parseInt(chooser.choose(rnd).substring("backend-".length()))]++;
+        }
+        double chiSquared = 0;
+        for (int i = 0; i < BACKENDS; i++) {
+            double expected = (double) samples * (i + 1) / total;
+            chiSquared += (observed[i] - expected) * (observed[i] - expected) / expected;
+        }
+        System.out.printf("카이제곱 = %.1f (자유도 %d, 0.1%% 임계값 약 1143)%n", chiSquared, BACKENDS - 1);
+    }
+}
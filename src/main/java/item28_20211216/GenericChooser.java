@@ -1,8 +1,17 @@
 package item28_20211216;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 public class GenericChooser<T> {
     private final T[] choiceArray;
@@ -15,4 +24,96 @@ public class GenericChooser<T> {
         Random rnd = ThreadLocalRandom.current();
         return choiceArray[rnd.nextInt(choiceArray.length)];
     }
+
+    // k 개를 중복을 허용해서 고른다. ThreadLocalRandom.current() 는 한번만 호출한다.
+    public List<T> choose(int k) {
+        return choose(k, ThreadLocalRandom.current());
+    }
+
+    public List<T> choose(int k, Random rnd) {
+        checkCount(k);
+        List<T> result = new ArrayList<>(k);
+        for (int i = 0; i < k; i++) {
+            result.add(choiceArray[rnd.nextInt(choiceArray.length)]);
+        }
+        return result;
+    }
+
+    // k 개를 중복 없이 고른다. (같은 위치의 원소를 두번 고르지 않는다) 결과의 순서도 무작위다.
+    public List<T> sampleWithoutReplacement(int k) {
+        return sampleWithoutReplacement(k, ThreadLocalRandom.current());
+    }
+
+    public List<T> sampleWithoutReplacement(int k, Random rnd) {
+        checkCount(k);
+        int n = choiceArray.length;
+        if (k > n)
+            throw new IllegalArgumentException("선택지보다 많이 고를 수 없습니다: " + k + " > " + n);
+
+        List<T> result = new ArrayList<>(k);
+        if (2 * k > n) {
+            // 많이 고를 때는 인덱스 배열을 앞에서부터 k 개만 섞는다. (부분 Fisher-Yates)
+            int[] indexes = new int[n];
+            for (int i = 0; i < n; i++) {
+                indexes[i] = i;
+            }
+            for (int i = 0; i < k; i++) {
+                int j = i + rnd.nextInt(n - i);
+                int tmp = indexes[i];
+                indexes[i] = indexes[j];
+                indexes[j] = tmp;
+                result.add(choiceArray[indexes[i]]);
+            }
+        } else {
+            // 적게 고를 때는 Floyd 알고리즘으로 k 번만 난수를 뽑는다.
+            Set<Integer> selected = new HashSet<>();
+            for (int j = n - k; j < n; j++) {
+                int t = rnd.nextInt(j + 1);
+                int index = selected.add(t) ? t : j;
+                selected.add(index);
+                result.add(choiceArray[index]);
+            }
+            // Floyd 알고리즘은 어떤 원소들을 고를지만 균일하고 순서는 치우친다. (마지막 원소 j 는 뒤쪽에 몰린다)
+            // Fisher-Yates 쪽과 마찬가지로 순서도 균일하도록 한번 섞는다.
+            Collections.shuffle(result, rnd);
+        }
+        return result;
+    }
+
+    // 끝없이 고른 인덱스의 스트림
+    public IntStream indexes(SplittableRandom rnd) {
+        return rnd.ints(0, choiceArray.length);
+    }
+
+    // count 개를 고른 인덱스의 스트림
+    // rnd 에서 시드를 하나 꺼낸 뒤 i 번째 값은 (시드, i) 만으로 계산한다. (SplitMix64)
+    // 따라서 병렬 스트림이 어떻게 나뉘든 같은 시드라면 같은 순서로 같은 결과가 나온다.
+    // (rnd.ints 는 병렬로 나뉘는 모양에 따라 값이 달라지고, 끝없는 스트림에 limit 을 걸면 어느 원소가 남을지도 정해져 있지 않다)
+    public IntStream indexes(long count, SplittableRandom rnd) {
+        if (count < 0)
+            throw new IllegalArgumentException("count 는 음수일 수 없습니다: " + count);
+        long seed = rnd.nextLong();
+        long n = choiceArray.length;
+        return LongStream.range(0, count)
+                .mapToInt(i -> (int) (((mix(seed + i * 0x9E3779B97F4A7C15L) >>> 32) * n) >>> 32));
+    }
+
+    public Stream<T> choices(SplittableRandom rnd) {
+        return indexes(rnd).mapToObj(i -> choiceArray[i]);
+    }
+
+    public Stream<T> choices(long count, SplittableRandom rnd) {
+        return indexes(count, rnd).mapToObj(i -> choiceArray[i]);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static void checkCount(int k) {
+        if (k < 0)
+            throw new IllegalArgumentException("k 는 음수일 수 없습니다: " + k);
+    }
 }
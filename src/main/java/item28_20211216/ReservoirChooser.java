@@ -0,0 +1,190 @@
+package item28_20211216;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collector;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+// Chooser, GenericChooser 는 모든 선택지를 choiceArray 로 복사한 뒤에 고른다.
+// ReservoirChooser 는 입력을 한번만 훑으면서 k 개만 들고 있는 저수지 표본 추출(reservoir sampling)로 고른다.
+// 입력이 메모리에 다 올라가지 않을 만큼 커도 쓸 수 있다.
+//
+// 순차 입력은 Algorithm L 을 쓴다. 다음에 교체할 원소까지 몇개를 건너뛸지 미리 계산하므로
+// 원소 대부분은 개수만 세고 지나간다.
+// 병렬 스트림은 분할마다 따로 표본을 뽑은 뒤, 각 분할의 원소 수에 비례하도록 합친다.
+public class ReservoirChooser {
+
+    private ReservoirChooser() {
+    }
+
+    // 원소 하나를 고르게 고른다. 비어 있으면 NoSuchElementException
+    public static <T> T choose(Iterable<? extends T> src) {
+        List<T> sample = sample(src, 1);
+        if (sample.isEmpty())
+            throw new NoSuchElementException("선택지가 비어 있습니다.");
+        return sample.get(0);
+    }
+
+    // k 개를 중복 없이 고른다. 원소가 k 개보다 적으면 모두 반환한다. 반환 순서도 무작위다.
+    public static <T> List<T> sample(Iterable<? extends T> src, int k) {
+        Reservoir<T> reservoir = new Reservoir<>(k);
+        for (T e : src) {
+            reservoir.accept(e);
+        }
+        return reservoir.result();
+    }
+
+    public static <T> List<T> sample(Spliterator<? extends T> src, int k) {
+        Reservoir<T> reservoir = new Reservoir<>(k);
+        src.forEachRemaining(reservoir::accept);
+        return reservoir.result();
+    }
+
+    // 병렬 스트림이면 분할별 표본을 합치고, 아니면 순차로 한번 훑는다.
+    public static <T> List<T> sample(Stream<? extends T> src, int k) {
+        if (src.isParallel())
+            return src.collect(toSample(k));
+        return sample(src.spliterator(), k);
+    }
+
+    public static <T> Collector<T, ?, List<T>> toSample(int k) {
+        return Collector.of(
+                () -> new Reservoir<T>(k),
+                Reservoir::accept,
+                Reservoir::merge,
+                Reservoir::result,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    private static final class Reservoir<T> {
+        private final int k;
+        private final Object[] items;
+        private int size = 0;
+        private long count = 0;     // 지금까지 본 원소 수
+
+        // Algorithm L 상태
+        private double w;
+        private long next;          // 다음에 표본에 넣을 원소의 번호 (1부터)
+        private boolean merged = false;
+
+        Reservoir(int k) {
+            if (k < 0)
+                throw new IllegalArgumentException("k 는 음수일 수 없습니다: " + k);
+            this.k = k;
+            this.items = new Object[k];
+        }
+
+        void accept(T e) {
+            count++;
+            if (size < k) {
+                items[size++] = e;
+                if (size == k)
+                    startSkipping();
+                return;
+            }
+            if (k == 0)
+                return;
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            if (merged) {
+                // 합친 뒤에는 Algorithm L 의 상태가 없으므로 Algorithm R 로 이어간다.
+                long j = rnd.nextLong(count);
+                if (j < k)
+                    items[(int) j] = e;
+                return;
+            }
+            if (count == next) {
+                items[rnd.nextInt(k)] = e;
+                w *= Math.exp(Math.log(uniform(rnd)) / k);
+                next += skip(rnd);
+            }
+        }
+
+        // 두 표본을 합친다. 결과의 각 원소가 전체 입력에서 고르게 뽑힌 것이 되도록
+        // 남은 원소 수에 비례하는 확률로 어느 쪽에서 꺼낼지 정하고, 그 쪽 표본에서 하나를 무작위로 꺼낸다.
+        Reservoir<T> merge(Reservoir<T> other) {
+            Random rnd = ThreadLocalRandom.current();
+            Object[] a = Arrays.copyOf(items, size);
+            Object[] b = Arrays.copyOf(other.items, other.size);
+            int aSize = a.length;
+            int bSize = b.length;
+            long aCount = count;
+            long bCount = other.count;
+
+            Reservoir<T> result = new Reservoir<>(k);
+            while (result.size < k && aCount + bCount > 0) {
+                if (rnd.nextDouble() * (aCount + bCount) < aCount) {
+                    int i = rnd.nextInt(aSize);
+                    result.items[result.size++] = a[i];
+                    a[i] = a[--aSize];
+                    aCount--;
+                } else {
+                    int i = rnd.nextInt(bSize);
+                    result.items[result.size++] = b[i];
+                    b[i] = b[--bSize];
+                    bCount--;
+                }
+            }
+            result.count = count + other.count;
+            result.merged = true;
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> result() {
+            List<T> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add((T) items[i]);
+            }
+            Collections.shuffle(result, ThreadLocalRandom.current());
+            return result;
+        }
+
+        private void startSkipping() {
+            Random rnd = ThreadLocalRandom.current();
+            w = Math.exp(Math.log(uniform(rnd)) / k);
+            next = count + skip(rnd);
+        }
+
+        private long skip(Random rnd) {
+            double skip = Math.floor(Math.log(uniform(rnd)) / Math.log1p(-w));
+            return skip >= Long.MAX_VALUE - count ? Long.MAX_VALUE - count : (long) skip + 1;
+        }
+
+        // (0, 1) 구간의 난수. log(0) 을 피한다.
+        private static double uniform(Random rnd) {
+            double u;
+            do {
+                u = rnd.nextDouble();
+            } while (u == 0.0);
+            return u;
+        }
+    }
+
+    public static void main(String[] args) {
+        // 큰 스트림에서 10개 뽑기. 전체를 리스트로 만들지 않는다.
+        System.out.println(sample(LongStream.range(0, 100_000_000L).boxed(), 10));
+        System.out.println(sample(LongStream.range(0, 100_000_000L).boxed().parallel(), 10));
+
+        // 분포 확인: 0~9 중 3개씩 10만번 뽑으면 각 숫자가 3만번 정도 나와야 한다.
+        List<Integer> digits = Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        int[] sequential = new int[10];
+        int[] parallel = new int[10];
+        for (int i = 0; i < 100_000; i++) {
+            for (int d : sample(digits, 3)) {
+                sequential[d]++;
+            }
+            for (int d : sample(digits.parallelStream(), 3)) {
+                parallel[d]++;
+            }
+        }
+        System.out.println("순차 : " + Arrays.toString(sequential));
+        System.out.println("병렬 : " + Arrays.toString(parallel));
+    }
+}
@@ -0,0 +1,88 @@
+package item28_20211216;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 가중치에 비례해서 고르는 Chooser (Vose 의 alias method)
+// 만들 때 O(n) 으로 표를 준비해두면, 고를 때는 난수 두개로 O(1) 에 고른다.
+// 만든 뒤에는 바뀌지 않으므로 여러 스레드가 함께 사용해도 안전하다.
+public class WeightedChooser<T> {
+    private final List<T> choiceList;
+    private final double[] probability; // i 번 칸에서 i 를 고를 확률
+    private final int[] alias;          // i 번 칸에서 i 가 아니면 고를 원소
+
+    public WeightedChooser(Map<? extends T, ? extends Number> weights) {
+        int n = weights.size();
+        if (n == 0)
+            throw new IllegalArgumentException("선택지가 비어 있습니다.");
+
+        this.choiceList = new ArrayList<>(n);
+        double[] scaled = new double[n];
+        double total = 0;
+        for (Map.Entry<? extends T, ? extends Number> entry : weights.entrySet()) {
+            double weight = entry.getValue().doubleValue();
+            if (!(weight >= 0) || Double.isInfinite(weight))
+                throw new IllegalArgumentException("가중치는 0 이상의 유한한 값이어야 합니다: " + entry);
+            scaled[choiceList.size()] = weight;
+            choiceList.add(entry.getKey());
+            total += weight;
+        }
+        if (total <= 0)
+            throw new IllegalArgumentException("가중치의 합이 0 입니다.");
+
+        // 평균이 1이 되도록 맞춘 뒤 1보다 작은 칸(small)을 1보다 큰 칸(large)으로 채운다.
+        this.probability = new double[n];
+        this.alias = new int[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallSize = 0;
+        int largeSize = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = scaled[i] * n / total;
+            if (scaled[i] < 1.0)
+                small[smallSize++] = i;
+            else
+                large[largeSize++] = i;
+        }
+        while (smallSize > 0 && largeSize > 0) {
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0)
+                small[smallSize++] = more;
+            else
+                large[largeSize++] = more;
+        }
+        // 부동소수점 오차로 남은 칸은 확률 1로 채운다.
+        while (largeSize > 0) {
+            probability[large[--largeSize]] = 1.0;
+        }
+        while (smallSize > 0) {
+            probability[small[--smallSize]] = 1.0;
+        }
+    }
+
+    public T choose() {
+        return choose(ThreadLocalRandom.current());
+    }
+
+    public T choose(Random rnd) {
+        int i = rnd.nextInt(probability.length);
+        return choiceList.get(rnd.nextDouble() < probability[i] ? i : alias[i]);
+    }
+
+    public T choose(SplittableRandom rnd) {
+        int i = rnd.nextInt(probability.length);
+        return choiceList.get(rnd.nextDouble() < probability[i] ? i : alias[i]);
+    }
+
+    public int size() {
+        return choiceList.size();
+    }
+}
@@ -0,0 +1,50 @@
+package item28_20211216;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// 카이제곱 검정으로 WeightedChooser 가 가중치대로 고르는지 확인하고, 고르는 속도를 잰다.
+public class WeightedChooserEx {
+    private static final int BACKENDS = 1_000;
+    private static final int SAMPLES = 10_000_000;
+
+    public static void main(String[] args) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        SplittableRandom weightRandom = new SplittableRandom(42);
+        long totalWeight = 0;
+        for (int i = 0; i < BACKENDS; i++) {
+            int weight = 1 + weightRandom.nextInt(100);
+            weights.put("backend-" + i, weight);
+            totalWeight += weight;
+        }
+        WeightedChooser<String> chooser = new WeightedChooser<>(weights);
+
+        Map<String, Integer> observed = new HashMap<>();
+        SplittableRandom rnd = new SplittableRandom(7);
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < SAMPLES; i++) {
+            observed.merge(chooser.choose(rnd), 1, Integer::sum);
+        }
+        System.out.println(SAMPLES + "번 선택 : " + (System.currentTimeMillis() - start) + "ms (집계 포함)");
+
+        double chiSquared = 0;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            double expected = (double) SAMPLES * entry.getValue() / totalWeight;
+            double diff = observed.getOrDefault(entry.getKey(), 0) - expected;
+            chiSquared += diff * diff / expected;
+        }
+        int degreesOfFreedom = BACKENDS - 1;
+        double critical = chiSquaredCritical(degreesOfFreedom);
+        System.out.printf("카이제곱 = %.1f, 자유도 = %d, 유의수준 0.1%% 임계값 = %.1f -> %s%n",
+                chiSquared, degreesOfFreedom, critical, chiSquared < critical ? "통과" : "실패");
+    }
+
+    // Wilson-Hilferty 근사로 구한 상위 0.1% 임계값 (z = 3.090)
+    private static double chiSquaredCritical(int k) {
+        double z = 3.090;
+        double a = 2.0 / (9.0 * k);
+        return k * Math.pow(1 - a + z * Math.sqrt(a), 3);
+    }
+}
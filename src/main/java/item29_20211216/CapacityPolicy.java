@@ -0,0 +1,68 @@
+package item29_20211216;
+
+// SegmentedStack 의 용량 정책
+// chunkSize        : 청크 하나에 담기는 원소 수
+// growthFactor     : 청크 테이블이 가득 찼을 때 늘리는 배율
+// shrinkHysteresis : 비어 있어도 바로 버리지 않고 남겨둘 청크 수 (push/pop 경계에서 할당이 반복되는 것을 막는다)
+public class CapacityPolicy {
+    public static final CapacityPolicy DEFAULT = new Builder().build();
+
+    private final int chunkSize;
+    private final double growthFactor;
+    private final int shrinkHysteresis;
+
+    public static class Builder {
+        private int chunkSize = 1024;
+        private double growthFactor = 2.0;
+        private int shrinkHysteresis = 1;
+
+        public Builder chunkSize(int value) {
+            if (value <= 0)
+                throw new IllegalArgumentException("chunkSize 는 양수여야 합니다: " + value);
+            this.chunkSize = value;
+            return this;
+        }
+
+        public Builder growthFactor(double value) {
+            if (!(value > 1.0))
+                throw new IllegalArgumentException("growthFactor 는 1보다 커야 합니다: " + value);
+            this.growthFactor = value;
+            return this;
+        }
+
+        public Builder shrinkHysteresis(int value) {
+            if (value < 0)
+                throw new IllegalArgumentException("shrinkHysteresis 는 음수일 수 없습니다: " + value);
+            this.shrinkHysteresis = value;
+            return this;
+        }
+
+        public CapacityPolicy build() {
+            return new CapacityPolicy(this);
+        }
+    }
+
+    private CapacityPolicy(Builder builder) {
+        this.chunkSize = builder.chunkSize;
+        this.growthFactor = builder.growthFactor;
+        this.shrinkHysteresis = builder.shrinkHysteresis;
+    }
+
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    public double growthFactor() {
+        return growthFactor;
+    }
+
+    public int shrinkHysteresis() {
+        return shrinkHysteresis;
+    }
+
+    // 현재 길이에서 다음 길이를 계산한다. 적어도 1은 늘어난다.
+    int grow(int length) {
+        long next = (long) (length * growthFactor);
+        return (int) Math.min(Integer.MAX_VALUE - 8, Math.max(next, length + 1L));
+    }
+}
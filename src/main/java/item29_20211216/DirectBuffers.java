@@ -0,0 +1,41 @@
+package item29_20211216;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+
+// direct buffer 의 메모리를 GC 를 기다리지 않고 바로 해제한다.
+// 자바 9 이상에서는 jdk.unsupported 모듈의 sun.misc.Unsafe#invokeCleaner 로 Cleaner 를 직접 실행할 수 있다.
+// 컴파일 타임에 내부 API 에 의존하지 않도록 리플렉션으로 찾고, 찾지 못하면 예전처럼 GC 에 맡긴다.
+final class DirectBuffers {
+    private static final MethodHandle INVOKE_CLEANER = findInvokeCleaner();
+
+    private DirectBuffers() {
+    }
+
+    // 해제한 버퍼에 접근하면 JVM 이 비정상 종료될 수 있다. 호출하는 쪽은 buffer 의 참조를 모두 끊어야 한다.
+    static void free(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect() || INVOKE_CLEANER == null)
+            return;
+        try {
+            INVOKE_CLEANER.invokeExact(buffer);
+        } catch (Throwable t) {
+            throw new IllegalStateException("direct buffer 를 해제하지 못했습니다.", t);
+        }
+    }
+
+    private static MethodHandle findInvokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(theUnsafe.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
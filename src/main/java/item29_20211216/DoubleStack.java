@@ -0,0 +1,81 @@
+package item29_20211216;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+
+// MyStackGeneric<Double> 는 push 마다 박싱, pop 마다 언박싱이 일어난다.
+// 기본 타입 배열에 직접 저장해서 박싱 비용을 없앤 스택 (아이템61 참고)
+public class DoubleStack {
+    private double[] elements;
+    private int size = 0;
+    public static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    public DoubleStack() {
+        elements = new double[DEFAULT_INITIAL_CAPACITY];
+    }
+
+    public void push(double e) {
+        ensureCapacity(1);
+        elements[size++] = e;
+    }
+
+    public double pop() {
+        if (size == 0)
+            throw new EmptyStackException();
+        return elements[--size];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // 배열 전체를 한번에 복사한다. 박싱이 일어나지 않는다.
+    public void pushAll(double... src) {
+        ensureCapacity(src.length);
+        System.arraycopy(src, 0, elements, size, src.length);
+        size += src.length;
+    }
+
+    public void pushAll(DoubleStream src) {
+        src.sequential().forEach(this::push);
+    }
+
+    // pop 순서대로(마지막에 넣은 원소부터) 담긴 배열을 반환하고 스택을 비운다.
+    public double[] popAll() {
+        double[] result = new double[size];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = elements[size - 1 - i];
+        }
+        size = 0;
+        return result;
+    }
+
+    public void popAll(DoubleConsumer dst) {
+        while (!isEmpty())
+            dst.accept(pop());
+    }
+
+    // 스택을 비우지 않고 pop 순서대로 원소를 스트림으로 제공한다.
+    public DoubleStream stream() {
+        double[] snapshot = elements;
+        int top = size;
+        return IntStream.range(0, top).mapToDouble(i -> snapshot[top - 1 - i]);
+    }
+
+    /*
+     * 원소를 위한 공간을 적어도 n 개 이상 확보한다.
+     * 배열 크기를 늘려야 할 때마다 대략 두배씩 늘려준다.
+     * */
+    private void ensureCapacity(int n) {
+        if (elements.length - size < n) {
+            elements = Arrays.copyOf(elements, Math.max(2 * size + 1, size + n));
+        }
+    }
+}
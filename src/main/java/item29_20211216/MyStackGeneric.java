@@ -33,6 +33,11 @@ public class MyStackGeneric<E> {
         return size == 0;
     }
 
+    // 바닥부터 꼭대기 순서로 원소를 복사한 배열을 반환한다.
+    public Object[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
     private void ensureCapacity() {
         if (elements.length == size) {
             elements = Arrays.copyOf(elements, 2 * size + 1);
@@ -0,0 +1,99 @@
+package item29_20211216;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+// long 전용 OffHeapStack. RecordCodec 을 거치지 않으므로 박싱이 일어나지 않는다.
+public class OffHeapLongStack implements AutoCloseable {
+    public static final int DEFAULT_RECORDS_PER_REGION = 64 * 1024;
+
+    private final int recordsPerRegion;
+
+    private ByteBuffer[] regions;
+    private int regionCount = 0;
+    private long size = 0;
+    private boolean closed = false;
+
+    public OffHeapLongStack() {
+        this(DEFAULT_RECORDS_PER_REGION);
+    }
+
+    public OffHeapLongStack(int recordsPerRegion) {
+        if (recordsPerRegion <= 0 || (long) recordsPerRegion * Long.BYTES > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("recordsPerRegion 이 올바르지 않습니다: " + recordsPerRegion);
+        this.recordsPerRegion = recordsPerRegion;
+        this.regions = new ByteBuffer[1];
+    }
+
+    public void push(long e) {
+        ensureOpen();
+        ensureCapacity();
+        regions[(int) (size / recordsPerRegion)].putLong(offset(size), e);
+        size++;
+    }
+
+    public long pop() {
+        ensureOpen();
+        if (size == 0)
+            throw new EmptyStackException();
+        size--;
+        long result = regions[(int) (size / recordsPerRegion)].getLong(offset(size));
+        releaseUnusedRegions();
+        return result;
+    }
+
+    public boolean isEmpty() {
+        ensureOpen();
+        return size == 0;
+    }
+
+    public long size() {
+        ensureOpen();
+        return size;
+    }
+
+    @Override
+    public void close() {
+        if (closed)
+            return;
+        closed = true;
+        for (int i = 0; i < regionCount; i++) {
+            DirectBuffers.free(regions[i]);
+        }
+        Arrays.fill(regions, null);
+        regions = null;
+        regionCount = 0;
+        size = 0;
+    }
+
+    private int offset(long index) {
+        return (int) (index % recordsPerRegion) * Long.BYTES;
+    }
+
+    private void ensureCapacity() {
+        if (size < (long) regionCount * recordsPerRegion)
+            return;
+        if (regionCount == regions.length) {
+            regions = Arrays.copyOf(regions, 2 * regionCount);
+        }
+        regions[regionCount++] = ByteBuffer.allocateDirect(recordsPerRegion * Long.BYTES)
+                .order(ByteOrder.nativeOrder());
+    }
+
+    private void releaseUnusedRegions() {
+        if (size % recordsPerRegion != 0)
+            return;
+        long used = (size + recordsPerRegion - 1) / recordsPerRegion;
+        while (regionCount > used + 1) {
+            DirectBuffers.free(regions[--regionCount]);
+            regions[regionCount] = null;
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed)
+            throw new IllegalStateException("이미 close 된 스택입니다.");
+    }
+}
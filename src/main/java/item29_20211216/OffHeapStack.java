@@ -0,0 +1,113 @@
+package item29_20211216;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.Objects;
+
+// 원소를 RecordCodec 으로 직렬화해서 힙 밖(direct buffer)에 저장하는 스택
+// 원소가 아주 많아도 GC 가 훑어야 할 객체가 늘어나지 않는다.
+// 가득 차면 기존 영역을 복사하지 않고 새 영역을 하나 더 할당한다.
+//
+// 다 쓰면 반드시 close 해야 한다. try-with-resources 를 사용하자. (아이템9 참고)
+// try (OffHeapStack<Long> stack = new OffHeapStack<>(RecordCodec.longs())) { ... }
+public class OffHeapStack<E> implements AutoCloseable {
+    public static final int DEFAULT_RECORDS_PER_REGION = 64 * 1024;
+
+    private final RecordCodec<E> codec;
+    private final int recordSize;
+    private final int recordsPerRegion;
+
+    private ByteBuffer[] regions;
+    private int regionCount = 0;
+    private long size = 0;
+    private boolean closed = false;
+
+    public OffHeapStack(RecordCodec<E> codec) {
+        this(codec, DEFAULT_RECORDS_PER_REGION);
+    }
+
+    public OffHeapStack(RecordCodec<E> codec, int recordsPerRegion) {
+        this.codec = Objects.requireNonNull(codec);
+        this.recordSize = codec.recordSize();
+        if (recordSize <= 0)
+            throw new IllegalArgumentException("recordSize 는 양수여야 합니다: " + recordSize);
+        if (recordsPerRegion <= 0 || (long) recordsPerRegion * recordSize > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("recordsPerRegion 이 올바르지 않습니다: " + recordsPerRegion);
+        this.recordsPerRegion = recordsPerRegion;
+        this.regions = new ByteBuffer[1];
+    }
+
+    public void push(E e) {
+        ensureOpen();
+        ensureCapacity();
+        codec.write(regions[(int) (size / recordsPerRegion)], offset(size), e);
+        size++;
+    }
+
+    public E pop() {
+        ensureOpen();
+        if (size == 0)
+            throw new EmptyStackException();
+        size--;
+        E result = codec.read(regions[(int) (size / recordsPerRegion)], offset(size));
+        releaseUnusedRegions();
+        return result;
+    }
+
+    public boolean isEmpty() {
+        ensureOpen();
+        return size == 0;
+    }
+
+    public long size() {
+        ensureOpen();
+        return size;
+    }
+
+    // 모든 영역의 메모리를 GC 를 기다리지 않고 바로 해제하고, 이후의 사용을 막는다.
+    @Override
+    public void close() {
+        if (closed)
+            return;
+        closed = true;
+        for (int i = 0; i < regionCount; i++) {
+            DirectBuffers.free(regions[i]);
+        }
+        Arrays.fill(regions, null);
+        regions = null;
+        regionCount = 0;
+        size = 0;
+    }
+
+    private int offset(long index) {
+        return (int) (index % recordsPerRegion) * recordSize;
+    }
+
+    private void ensureCapacity() {
+        if (size < (long) regionCount * recordsPerRegion)
+            return;
+        if (regionCount == regions.length) {
+            regions = Arrays.copyOf(regions, 2 * regionCount);
+        }
+        regions[regionCount++] = ByteBuffer.allocateDirect(recordsPerRegion * recordSize)
+                .order(ByteOrder.nativeOrder());
+    }
+
+    // 사용 중인 영역 뒤로 빈 영역은 하나만 남긴다.
+    private void releaseUnusedRegions() {
+        if (size % recordsPerRegion != 0)
+            return;
+        long used = (size + recordsPerRegion - 1) / recordsPerRegion;
+        while (regionCount > used + 1) {
+            DirectBuffers.free(regions[--regionCount]);
+            regions[regionCount] = null;
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed)
+            throw new IllegalStateException("이미 close 된 스택입니다.");
+    }
+}
@@ -0,0 +1,22 @@
+package item29_20211216;
+
+public class OffHeapStackEx {
+    public static void main(String[] args) {
+        try (OffHeapLongStack stack = new OffHeapLongStack()) {
+            for (long i = 0; i < 10_000_000; i++) {
+                stack.push(i);
+            }
+            long sum = 0;
+            while (!stack.isEmpty()) {
+                sum += stack.pop();
+            }
+            System.out.println(sum);
+        }
+
+        try (OffHeapStack<Long> stack = new OffHeapStack<>(RecordCodec.longs())) {
+            stack.push(1L);
+            stack.push(2L);
+            System.out.println(stack.pop() + stack.pop());
+        }
+    }
+}
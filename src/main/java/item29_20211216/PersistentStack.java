@@ -0,0 +1,75 @@
+package item29_20211216;
+
+import java.util.EmptyStackException;
+
+// 불변 스택. push, pop 은 원본을 바꾸지 않고 새 버전을 반환한다.
+// 새 버전은 이전 버전의 노드를 그대로 공유하므로 스냅샷은 참조 하나를 보관하는 것으로 끝난다.
+// (아이템17 불변 클래스, 아이템13 clone 의 대안)
+public final class PersistentStack<E> {
+    private static final PersistentStack<?> EMPTY = new PersistentStack<>(null, null, 0);
+
+    private final E head;
+    private final PersistentStack<E> tail;
+    private final int size;
+
+    private PersistentStack(E head, PersistentStack<E> tail, int size) {
+        this.head = head;
+        this.tail = tail;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentStack<E> empty() {
+        return (PersistentStack<E>) EMPTY;
+    }
+
+    // MyStackGeneric 의 현재 원소로 같은 순서의 스택을 만든다. 원본은 변경하지 않는다.
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentStack<E> from(MyStackGeneric<E> stack) {
+        PersistentStack<E> result = empty();
+        for (Object e : stack.toArray()) {
+            result = result.push((E) e);
+        }
+        return result;
+    }
+
+    public PersistentStack<E> push(E e) {
+        return new PersistentStack<>(e, this, size + 1);
+    }
+
+    // 꼭대기 원소를 제거한 버전을 반환한다. 꼭대기 원소는 peek 으로 얻는다.
+    public PersistentStack<E> pop() {
+        if (isEmpty())
+            throw new EmptyStackException();
+        return tail;
+    }
+
+    public E peek() {
+        if (isEmpty())
+            throw new EmptyStackException();
+        return head;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public MyStackGeneric<E> toMyStackGeneric() {
+        Object[] bottomToTop = new Object[size];
+        int i = size;
+        for (PersistentStack<E> s = this; !s.isEmpty(); s = s.tail) {
+            bottomToTop[--i] = s.head;
+        }
+        MyStackGeneric<E> result = new MyStackGeneric<>();
+        for (Object e : bottomToTop) {
+            @SuppressWarnings("unchecked")
+            E element = (E) e;
+            result.push(element);
+        }
+        return result;
+    }
+}
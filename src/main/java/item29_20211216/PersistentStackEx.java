@@ -0,0 +1,40 @@
+package item29_20211216;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 스택 크기별로 스냅샷 비용을 비교한다.
+// 배열 기반 스택은 스냅샷마다 배열 전체를 복사해야 하지만 PersistentStack 은 참조만 보관하면 된다.
+public class PersistentStackEx {
+    private static final int SNAPSHOTS = 1_000;
+
+    public static void main(String[] args) {
+        for (int size = 1_000; size <= 100_000; size *= 10) {
+            Object[] elements = new Object[size];
+            Arrays.fill(elements, "e");
+            PersistentStack<Object> persistent = PersistentStack.empty();
+            for (int i = 0; i < size; i++) {
+                persistent = persistent.push("e");
+            }
+
+            List<Object[]> arraySnapshots = new ArrayList<>();
+            long start1 = System.nanoTime();
+            for (int i = 0; i < SNAPSHOTS; i++) {
+                arraySnapshots.add(elements.clone());
+            }
+            long arrayNanos = (System.nanoTime() - start1) / SNAPSHOTS;
+            arraySnapshots = null;
+
+            List<PersistentStack<Object>> persistentSnapshots = new ArrayList<>();
+            long start2 = System.nanoTime();
+            for (int i = 0; i < SNAPSHOTS; i++) {
+                persistentSnapshots.add(persistent);
+            }
+            long persistentNanos = (System.nanoTime() - start2) / SNAPSHOTS;
+
+            System.out.printf("size = %7d, 배열 clone = %8dns, PersistentStack = %3dns%n",
+                    size, arrayNanos, persistentNanos);
+        }
+    }
+}
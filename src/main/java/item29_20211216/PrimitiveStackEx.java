@@ -0,0 +1,59 @@
+package item29_20211216;
+
+import java.lang.management.ManagementFactory;
+
+// MyStackGeneric<Integer> 와 IntStack 의 처리 시간, 할당량 비교
+public class PrimitiveStackEx {
+    private static final int COUNT = 10_000_000;
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        // JIT 워밍업
+        for (int i = 0; i < 5; i++) {
+            boxed();
+            primitive();
+        }
+
+        long allocated1 = allocatedBytes();
+        long start1 = System.currentTimeMillis();
+        long sum1 = boxed();
+        System.out.println("MyStackGeneric<Integer> : " + (System.currentTimeMillis() - start1) + "ms, "
+                + (allocatedBytes() - allocated1) / COUNT + " bytes/op, sum = " + sum1);
+
+        long allocated2 = allocatedBytes();
+        long start2 = System.currentTimeMillis();
+        long sum2 = primitive();
+        System.out.println("IntStack                : " + (System.currentTimeMillis() - start2) + "ms, "
+                + (allocatedBytes() - allocated2) / COUNT + " bytes/op, sum = " + sum2);
+    }
+
+    static long boxed() {
+        MyStackGeneric<Integer> stack = new MyStackGeneric<>();
+        for (int i = 0; i < COUNT; i++) {
+            stack.push(i); // 오토박싱 발생
+        }
+        long sum = 0;
+        while (!stack.isEmpty()) {
+            sum += stack.pop(); // 언박싱 발생
+        }
+        return sum;
+    }
+
+    static long primitive() {
+        IntStack stack = new IntStack();
+        for (int i = 0; i < COUNT; i++) {
+            stack.push(i);
+        }
+        long sum = 0;
+        while (!stack.isEmpty()) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+
+    private static long allocatedBytes() {
+        return THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
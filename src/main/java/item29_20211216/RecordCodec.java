@@ -0,0 +1,33 @@
+package item29_20211216;
+
+import java.nio.ByteBuffer;
+
+// OffHeapStack 에 저장할 고정 길이 레코드의 직렬화 방법
+public interface RecordCodec<E> {
+
+    // 레코드 하나의 바이트 수. 항상 같은 값을 반환해야 한다.
+    int recordSize();
+
+    void write(ByteBuffer buffer, int offset, E e);
+
+    E read(ByteBuffer buffer, int offset);
+
+    static RecordCodec<Long> longs() {
+        return new RecordCodec<Long>() {
+            @Override
+            public int recordSize() {
+                return Long.BYTES;
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, int offset, Long e) {
+                buffer.putLong(offset, e);
+            }
+
+            @Override
+            public Long read(ByteBuffer buffer, int offset) {
+                return buffer.getLong(offset);
+            }
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package item29_20211216;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+// MyStackGeneric 은 가득 찰 때마다 Arrays.copyOf 로 전체 원소를 복사한다.
+// 원소가 수백만개가 되면 복사하는 순간 지연이 튀고, 잠깐이지만 메모리도 두배가 필요하다.
+// SegmentedStack 은 고정 크기 청크를 이어 붙여서 원소를 복사하지 않고 늘어나며,
+// 줄어들 때는 다 쓴 청크를 통째로 버려서 GC 가 회수할 수 있게 한다. (아이템7 참고)
+public class SegmentedStack<E> {
+    private final CapacityPolicy policy;
+    private final int chunkSize;
+
+    // 늘어날 때 복사되는 것은 청크 참조를 담은 테이블뿐이다.
+    private Object[][] chunks;
+    private int chunkCount = 0; // 할당된 청크 수
+    private int size = 0;
+
+    public SegmentedStack() {
+        this(CapacityPolicy.DEFAULT);
+    }
+
+    public SegmentedStack(CapacityPolicy policy) {
+        this.policy = policy;
+        this.chunkSize = policy.chunkSize();
+        this.chunks = new Object[1][];
+    }
+
+    public void push(E e) {
+        ensureCapacity();
+        chunks[size / chunkSize][size % chunkSize] = e;
+        size++;
+    }
+
+    public E pop() {
+        if (size == 0)
+            throw new EmptyStackException();
+        size--;
+        Object[] chunk = chunks[size / chunkSize];
+        @SuppressWarnings("unchecked")
+        E result = (E) chunk[size % chunkSize];
+        chunk[size % chunkSize] = null; // 다 쓴 참조 해제
+        if (size % chunkSize == 0)
+            releaseUnusedChunks(policy.shrinkHysteresis());
+        return result;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // 지금 원소를 담는 데 필요한 청크만 남기고 나머지를 모두 해제한다.
+    public void trimToSize() {
+        releaseUnusedChunks(0);
+        if (chunks.length > Math.max(chunkCount, 1)) {
+            chunks = Arrays.copyOf(chunks, Math.max(chunkCount, 1));
+        }
+    }
+
+    private void ensureCapacity() {
+        if (size < chunkCount * chunkSize)
+            return;
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, policy.grow(chunks.length));
+        }
+        chunks[chunkCount++] = new Object[chunkSize];
+    }
+
+    // 사용 중인 청크 뒤로 spare 개의 빈 청크만 남긴다.
+    private void releaseUnusedChunks(int spare) {
+        int used = (size + chunkSize - 1) / chunkSize;
+        while (chunkCount > used + spare) {
+            chunks[--chunkCount] = null;
+        }
+    }
+}
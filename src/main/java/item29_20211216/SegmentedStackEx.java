@@ -0,0 +1,40 @@
+package item29_20211216;
+
+// push 한번에 걸린 최대 시간을 비교한다.
+// MyStackGeneric 은 Arrays.copyOf 가 일어나는 push 에서 지연이 크게 튄다.
+public class SegmentedStackEx {
+    private static final int COUNT = 20_000_000;
+
+    public static void main(String[] args) {
+        MyStackGeneric<Integer> arrayStack = new MyStackGeneric<>();
+        long worst1 = 0;
+        long start1 = System.currentTimeMillis();
+        for (int i = 0; i < COUNT; i++) {
+            long begin = System.nanoTime();
+            arrayStack.push(i);
+            worst1 = Math.max(worst1, System.nanoTime() - begin);
+        }
+        System.out.println("MyStackGeneric : " + (System.currentTimeMillis() - start1)
+                + "ms, 가장 느린 push = " + worst1 / 1_000 + "us");
+        arrayStack = null;
+
+        SegmentedStack<Integer> segmentedStack = new SegmentedStack<>(new CapacityPolicy.Builder()
+                .chunkSize(4096)
+                .shrinkHysteresis(2)
+                .build());
+        long worst2 = 0;
+        long start2 = System.currentTimeMillis();
+        for (int i = 0; i < COUNT; i++) {
+            long begin = System.nanoTime();
+            segmentedStack.push(i);
+            worst2 = Math.max(worst2, System.nanoTime() - begin);
+        }
+        System.out.println("SegmentedStack : " + (System.currentTimeMillis() - start2)
+                + "ms, 가장 느린 push = " + worst2 / 1_000 + "us");
+
+        while (segmentedStack.size() > COUNT / 2) {
+            segmentedStack.pop();
+        }
+        segmentedStack.trimToSize();
+    }
+}
@@ -0,0 +1,90 @@
+package item29_20211216;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// 작업 훔치기(work-stealing)용 덱 (Chase-Lev 덱)
+// 주인 스레드는 MyStackGeneric 처럼 한쪽 끝(bottom)에서 push/pop 하고,
+// 다른 스레드는 반대쪽 끝(top)에서 CAS 로 steal 한다.
+// 주인의 push/pop 은 마지막 원소 하나를 두고 경쟁할 때만 CAS 를 사용한다.
+public class WorkStealingDeque<E> {
+    public static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    private final AtomicLong top = new AtomicLong();
+    private volatile long bottom = 0;
+    private volatile AtomicReferenceArray<E> elements;
+
+    public WorkStealingDeque() {
+        elements = new AtomicReferenceArray<>(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    // 주인 스레드만 호출해야 한다.
+    public void push(E e) {
+        long b = bottom;
+        long t = top.get();
+        AtomicReferenceArray<E> a = elements;
+        if (b - t >= a.length() - 1) {
+            a = grow(a, t, b);
+        }
+        a.set(index(a, b), e);
+        bottom = b + 1;
+    }
+
+    // 주인 스레드만 호출해야 한다. 비어 있거나 마지막 원소를 도둑에게 빼앗기면 null 을 반환한다.
+    public E pop() {
+        long b = bottom - 1;
+        AtomicReferenceArray<E> a = elements;
+        bottom = b;
+        long t = top.get();
+        if (t > b) {
+            bottom = b + 1;
+            return null;
+        }
+        E result = a.get(index(a, b));
+        if (t == b) {
+            // 마지막 원소는 도둑과 경쟁한다.
+            if (!top.compareAndSet(t, t + 1))
+                result = null;
+            bottom = b + 1;
+        } else {
+            a.set(index(a, b), null); // 다 쓴 참조 해제
+        }
+        return result;
+    }
+
+    // 아무 스레드나 호출할 수 있다. 비어 있거나 다른 스레드와의 경쟁에서 지면 null 을 반환한다.
+    public E steal() {
+        long t = top.get();
+        long b = bottom;
+        if (t >= b)
+            return null;
+        AtomicReferenceArray<E> a = elements;
+        E result = a.get(index(a, t));
+        if (!top.compareAndSet(t, t + 1))
+            return null;
+        return result;
+    }
+
+    public boolean isEmpty() {
+        return bottom - top.get() <= 0;
+    }
+
+    // 대략적인 크기. 다른 스레드가 동시에 수정 중이면 정확하지 않을 수 있다.
+    public int size() {
+        return (int) Math.max(0, bottom - top.get());
+    }
+
+    // 기존 배열은 수정하지 않으므로, 예전 배열을 읽고 있던 도둑도 올바른 원소를 얻는다.
+    private AtomicReferenceArray<E> grow(AtomicReferenceArray<E> a, long t, long b) {
+        AtomicReferenceArray<E> grown = new AtomicReferenceArray<>(2 * a.length());
+        for (long i = t; i < b; i++) {
+            grown.set(index(grown, i), a.get(index(a, i)));
+        }
+        elements = grown;
+        return grown;
+    }
+
+    private static int index(AtomicReferenceArray<?> a, long i) {
+        return (int) (i & (a.length() - 1));
+    }
+}
@@ -0,0 +1,38 @@
+package item29_20211216;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// 구간을 반씩 나누며 재귀적으로 작업을 제출하는 CPU 작업을 워커 수를 늘려가며 실행한다.
+public class WorkStealingEx {
+    private static final long RANGE = 200_000_000L;
+    private static final long THRESHOLD = 100_000L;
+
+    public static void main(String[] args) throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int parallelism = 1; parallelism <= cores; parallelism *= 2) {
+            try (WorkStealingScheduler scheduler = new WorkStealingScheduler(parallelism)) {
+                LongAdder result = new LongAdder();
+                long start = System.currentTimeMillis();
+                scheduler.submit(() -> sum(scheduler, result, 0, RANGE));
+                scheduler.awaitQuiescence();
+                System.out.printf("workers = %2d, %5dms, steal = %6d, idle = %6d, failure = %d, sum = %d%n",
+                        parallelism, System.currentTimeMillis() - start,
+                        scheduler.stealCount(), scheduler.idleCount(), scheduler.failureCount(), result.sum());
+            }
+        }
+    }
+
+    private static void sum(WorkStealingScheduler scheduler, LongAdder result, long from, long to) {
+        if (to - from > THRESHOLD) {
+            long mid = (from + to) >>> 1;
+            scheduler.submit(() -> sum(scheduler, result, mid, to));
+            sum(scheduler, result, from, mid);
+            return;
+        }
+        long sum = 0;
+        for (long i = from; i < to; i++) {
+            sum += i % 7 == 0 ? i : i ^ 0x5DEECE66DL;
+        }
+        result.add(sum);
+    }
+}
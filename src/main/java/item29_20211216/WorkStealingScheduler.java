@@ -0,0 +1,154 @@
+package item29_20211216;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// 워커마다 WorkStealingDeque 를 하나씩 가지는 간단한 스케줄러
+// 작업 중에 submit 한 작업은 그 워커의 덱에 쌓이고(LIFO), 할 일이 없는 워커는 다른 워커의 덱에서 훔쳐온다.
+// 재귀적으로 작업을 나누는 CPU 작업이 여러 코어에 고르게 퍼진다.
+public class WorkStealingScheduler implements AutoCloseable {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final Worker[] workers;
+    private final ConcurrentLinkedQueue<Runnable> submissions = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pending = new AtomicLong();
+    private final LongAdder stealCount = new LongAdder();
+    private final LongAdder idleCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final Thread.UncaughtExceptionHandler failureHandler;
+    private volatile boolean shutdown = false;
+
+    public WorkStealingScheduler(int parallelism) {
+        this(parallelism, null);
+    }
+
+    // 작업이 던진 예외(Error 포함)는 failureCount 로 세고, failureHandler 가 있으면 그 작업을 실행한 워커 스레드와 함께 넘긴다.
+    // 예외가 나도 워커는 멈추지 않고 다음 작업을 계속한다.
+    public WorkStealingScheduler(int parallelism, Thread.UncaughtExceptionHandler failureHandler) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("parallelism 은 양수여야 합니다: " + parallelism);
+        this.failureHandler = failureHandler;
+        workers = new Worker[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Worker(i);
+        }
+        for (Worker worker : workers) {
+            worker.start();
+        }
+    }
+
+    // 워커 스레드에서 호출하면 자기 덱에, 외부 스레드에서 호출하면 공용 큐에 넣는다.
+    public void submit(Runnable task) {
+        Objects.requireNonNull(task);
+        if (shutdown)
+            throw new IllegalStateException("이미 종료된 스케줄러입니다.");
+        pending.incrementAndGet();
+        Thread current = Thread.currentThread();
+        if (current instanceof Worker && ((Worker) current).owner() == this) {
+            ((Worker) current).deque.push(task);
+        } else {
+            submissions.offer(task);
+        }
+    }
+
+    // 제출된 작업(작업 중에 제출된 작업 포함)이 모두 끝날 때까지 기다린다.
+    public void awaitQuiescence() throws InterruptedException {
+        while (pending.get() != 0) {
+            if (Thread.interrupted())
+                throw new InterruptedException();
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    public long stealCount() {
+        return stealCount.sum();
+    }
+
+    public long idleCount() {
+        return idleCount.sum();
+    }
+
+    public long failureCount() {
+        return failureCount.sum();
+    }
+
+    @Override
+    public void close() {
+        shutdown = true;
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private final class Worker extends Thread {
+        private final WorkStealingDeque<Runnable> deque = new WorkStealingDeque<>();
+        private final int id;
+
+        Worker(int id) {
+            super("work-stealing-worker-" + id);
+            this.id = id;
+            setDaemon(true);
+        }
+
+        WorkStealingScheduler owner() {
+            return WorkStealingScheduler.this;
+        }
+
+        @Override
+        public void run() {
+            while (!shutdown) {
+                Runnable task = deque.pop();
+                if (task == null)
+                    task = submissions.poll();
+                if (task == null)
+                    task = steal();
+                if (task == null) {
+                    idleCount.increment();
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    // Error(StackOverflowError 등)도 여기서 처리한다. 워커가 죽으면 덱에 남은 작업을 아무도 꺼내지 않는다.
+                    failureCount.increment();
+                    handleFailure(t);
+                } finally {
+                    pending.decrementAndGet();
+                }
+            }
+        }
+
+        // 핸들러가 던진 예외 때문에 워커가 멈추지 않도록 삼킨다.
+        private void handleFailure(Throwable t) {
+            if (failureHandler == null)
+                return;
+            try {
+                failureHandler.uncaughtException(this, t);
+            } catch (Throwable ignored) {
+            }
+        }
+
+        // 임의의 워커부터 시작해서 한바퀴 돌며 훔칠 작업을 찾는다.
+        private Runnable steal() {
+            int n = workers.length;
+            int start = ThreadLocalRandom.current().nextInt(n);
+            for (int i = 0; i < n; i++) {
+                Worker victim = workers[(start + i) % n];
+                if (victim.id == id)
+                    continue;
+                Runnable task = victim.deque.steal();
+                if (task != null) {
+                    stealCount.increment();
+                    return task;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package item31_20211217;
+
+import java.util.Collection;
+import java.util.EmptyStackException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+// MyStack 과 같은 API 를 제공하는 락 프리(Treiber) 스택
+// head 노드 하나만 CAS 로 교체하므로 synchronized 로 감쌀 필요가 없다.
+// poll 이 null 로 빈 스택을 알리므로 Deque 처럼 null 원소는 받지 않는다.
+public class ConcurrentStack<E> {
+
+    private static final class Node<E> {
+        final E item;
+        Node<E> next;
+
+        Node(E item) {
+            this.item = item;
+        }
+    }
+
+    private final AtomicReference<Node<E>> head = new AtomicReference<>();
+
+    public void push(E e) {
+        Node<E> newHead = new Node<>(Objects.requireNonNull(e));
+        Node<E> oldHead;
+        do {
+            oldHead = head.get();
+            newHead.next = oldHead;
+        } while (!head.compareAndSet(oldHead, newHead));
+    }
+
+    public E pop() {
+        Node<E> oldHead;
+        do {
+            oldHead = head.get();
+            if (oldHead == null)
+                throw new EmptyStackException();
+        } while (!head.compareAndSet(oldHead, oldHead.next));
+        return oldHead.item;
+    }
+
+    // 비어 있으면 예외 대신 null 을 반환한다. (Deque.poll 과 같다)
+    // 다른 스레드가 언제든 비울 수 있으므로 isEmpty 로 확인한 뒤 pop 하는 것은 안전하지 않다.
+    public E poll() {
+        Node<E> oldHead;
+        do {
+            oldHead = head.get();
+            if (oldHead == null)
+                return null;
+        } while (!head.compareAndSet(oldHead, oldHead.next));
+        return oldHead.item;
+    }
+
+    // 원소들을 미리 연결해 두고 CAS 한번으로 스택에 붙인다.
+    // 다른 스레드에게는 원소들이 한꺼번에 보이며, push 를 반복한 것과 같은 순서가 된다.
+    public void pushAll(Iterable<? extends E> src) {
+        Node<E> batchHead = null;
+        Node<E> batchTail = null;
+        for (E e : src) {
+            Node<E> node = new Node<>(Objects.requireNonNull(e)); // 하나라도 null 이면 아무것도 넣지 않는다.
+            node.next = batchHead;
+            batchHead = node;
+            if (batchTail == null)
+                batchTail = node;
+        }
+        if (batchHead == null)
+            return;
+
+        Node<E> oldHead;
+        do {
+            oldHead = head.get();
+            batchTail.next = oldHead;
+        } while (!head.compareAndSet(oldHead, batchHead));
+    }
+
+    // 스택 전체를 CAS 한번(getAndSet)으로 떼어낸 뒤 옮겨 담는다.
+    public void popAll(Collection<? super E> dst) {
+        for (Node<E> node = head.getAndSet(null); node != null; node = node.next)
+            dst.add(node.item);
+    }
+
+    public boolean isEmpty() {
+        return head.get() == null;
+    }
+}
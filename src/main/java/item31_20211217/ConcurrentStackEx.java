@@ -0,0 +1,95 @@
+package item31_20211217;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+// synchronized 로 감싼 MyStack 과 ConcurrentStack 을 스레드 수를 늘려가며 비교한다.
+public class ConcurrentStackEx {
+    private static final int OPERATIONS_PER_THREAD = 1_000_000;
+    private static final int BATCH_SIZE = 16;
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int threads = 1; threads <= 64; threads *= 2) {
+            long synchronizedMillis = run(threads, synchronizedStack());
+            long concurrentMillis = run(threads, concurrentStack());
+            System.out.printf("threads = %2d, synchronized MyStack = %5dms, ConcurrentStack = %5dms%n",
+                    threads, synchronizedMillis, concurrentMillis);
+        }
+    }
+
+    // 각 스레드는 push 후 pop 을 반복하고, BATCH_SIZE 번에 한번은 pushAll/popAll 을 사용한다.
+    private static long run(int threads, Runnable task) throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                ready.countDown();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                task.run();
+                done.countDown();
+            }).start();
+        }
+        ready.await();
+        long begin = System.currentTimeMillis();
+        start.countDown();
+        done.await();
+        return System.currentTimeMillis() - begin;
+    }
+
+    private static Runnable synchronizedStack() {
+        MyStack<Integer> stack = new MyStack<>();
+        List<Integer> batch = batch();
+        return () -> {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                if (i % BATCH_SIZE == 0) {
+                    synchronized (stack) {
+                        stack.pushAll(batch);
+                    }
+                    List<Integer> dst = new ArrayList<>();
+                    synchronized (stack) {
+                        stack.popAll(dst);
+                    }
+                } else {
+                    synchronized (stack) {
+                        stack.push(i);
+                    }
+                    synchronized (stack) {
+                        if (!stack.isEmpty())
+                            stack.pop();
+                    }
+                }
+            }
+        };
+    }
+
+    private static Runnable concurrentStack() {
+        ConcurrentStack<Integer> stack = new ConcurrentStack<>();
+        List<Integer> batch = batch();
+        return () -> {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                if (i % BATCH_SIZE == 0) {
+                    stack.pushAll(batch);
+                    stack.popAll(new ArrayList<>());
+                } else {
+                    stack.push(i);
+                    stack.poll(); // 다른 스레드의 popAll 이 먼저 비웠을 수 있다.
+                }
+            }
+        };
+    }
+
+    private static List<Integer> batch() {
+        List<Integer> batch = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(i);
+        }
+        return batch;
+    }
+}
@@ -1,6 +1,9 @@
 package item31_20211217;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class MyStack<E> {
     public static void main(String[] args) {
@@ -26,7 +29,7 @@ public class MyStack<E> {
     }
 
     public void push(E e) {
-        ensureCapacity();
+        ensureCapacity(1);
         elements[size++] = e;
     }
 
@@ -39,22 +42,104 @@ public class MyStack<E> {
     }
 
     public void pushAll(Iterable<? extends E> src) {
+        // Collection 이면 크기를 알 수 있으므로 용량을 한번만 늘리고 배열째 복사한다.
+        if (src instanceof Collection) {
+            Object[] a = ((Collection<?>) src).toArray();
+            ensureCapacity(a.length);
+            System.arraycopy(a, 0, elements, size, a.length);
+            size += a.length;
+            return;
+        }
         for (E e : src)
             push(e);
     }
 
     public void popAll(Collection<? super E> dst) {
+        // List 는 pop 순서(역순)로 뒤집은 배열을 addAll 한번으로 옮긴다.
+        if (dst instanceof List) {
+            Object[] reversed = new Object[size];
+            for (int i = 0; i < size; i++)
+                reversed[i] = elements[size - 1 - i];
+            @SuppressWarnings("unchecked")
+            List<E> view = (List<E>) Arrays.asList(reversed);
+            dst.addAll(view);
+            Arrays.fill(elements, 0, size, null);
+            size = 0;
+            return;
+        }
         while(!isEmpty())
             dst.add(pop());
     }
 
+    // 스택을 비우지 않고 원소를 pop 순서(꼭대기부터 바닥)로 순회한다. (popAll, IntStack.stream 과 같은 순서)
+    // 순회 도중 스택을 수정하면 안 된다.
+    public Spliterator<E> spliterator() {
+        return new PopOrderSpliterator<>(elements, 0, size);
+    }
+
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
     public boolean isEmpty() {
         return size == 0;
     }
 
-    private void ensureCapacity() {
-        if (elements.length == size) {
-            elements = Arrays.copyOf(elements, 2 * size + 1);
+    // 배열의 [low, high) 구간을 high - 1 부터 거꾸로 순회한다.
+    // 나눌 때는 먼저 순회할 꼭대기 쪽 절반을 떼어준다.
+    private static final class PopOrderSpliterator<E> implements Spliterator<E> {
+        private final E[] array;
+        private final int low;
+        private int high;
+
+        PopOrderSpliterator(E[] array, int low, int high) {
+            this.array = array;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (high <= low)
+                return false;
+            action.accept(array[--high]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            while (high > low)
+                action.accept(array[--high]);
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int mid = (low + high) >>> 1;
+            if (mid <= low)
+                return null;
+            Spliterator<E> top = new PopOrderSpliterator<>(array, mid, high);
+            high = mid;
+            return top;
+        }
+
+        @Override
+        public long estimateSize() {
+            return high - low;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+    }
+
+    private void ensureCapacity(int n) {
+        if (elements.length - size < n) {
+            elements = Arrays.copyOf(elements, Math.max(2 * size + 1, size + n));
         }
     }
 }
@@ -0,0 +1,37 @@
+package item33_20211224;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+// 스레드 안전한 Favorites
+// HashMap 대신 ClassValue 로 클래스마다 값을 담을 칸(AtomicReference)을 붙여둔다.
+// 칸이 한번 만들어진 뒤의 getFavorite 은 잠금도, 해시 계산도 하지 않는다.
+public class ConcurrentFavorites {
+    public static void main(String[] args) {
+        ConcurrentFavorites f = new ConcurrentFavorites();
+
+        f.putFavorite(String.class, "Java");
+        f.putFavorite(Integer.class, 123);
+        f.putFavorite(Class.class, ConcurrentFavorites.class);
+
+        String favoriteString = f.getFavorite(String.class);
+        Integer favoriteInteger = f.getFavorite(Integer.class);
+        Class<?> favoriteClass = f.getFavorite(Class.class);
+        System.out.printf("%s %d %s%n", favoriteString, favoriteInteger, favoriteClass.getSimpleName());
+    }
+
+    private final ClassValue<AtomicReference<Object>> values = new ClassValue<AtomicReference<Object>>() {
+        @Override
+        protected AtomicReference<Object> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
+
+    public <T> void putFavorite(Class<T> type, T instance) {
+        values.get(Objects.requireNonNull(type)).set(type.cast(instance));
+    }
+
+    public <T> T getFavorite(Class<T> type) {
+        return type.cast(values.get(type).get());
+    }
+}
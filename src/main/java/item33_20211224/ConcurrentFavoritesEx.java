@@ -0,0 +1,51 @@
+package item33_20211224;
+
+import java.util.concurrent.CountDownLatch;
+
+// 여러 스레드가 동시에 getFavorite 할 때
+// synchronized 로 감싼 Favorites 와 ConcurrentFavorites 를 비교한다.
+public class ConcurrentFavoritesEx {
+    private static final int THREADS = 16;
+    private static final int READS_PER_THREAD = 5_000_000;
+    private static final Class<?>[] TYPES = {String.class, Integer.class};
+
+    public static void main(String[] args) throws InterruptedException {
+        Favorites favorites = new Favorites();
+        favorites.putFavorite(String.class, "Java");
+        favorites.putFavorite(Integer.class, 123);
+
+        ConcurrentFavorites concurrentFavorites = new ConcurrentFavorites();
+        concurrentFavorites.putFavorite(String.class, "Java");
+        concurrentFavorites.putFavorite(Integer.class, 123);
+
+        for (int round = 0; round < 3; round++) {
+            long synchronizedMillis = run(() -> {
+                for (int i = 0; i < READS_PER_THREAD; i++) {
+                    synchronized (favorites) {
+                        favorites.getFavorite(TYPES[i & 1]);
+                    }
+                }
+            });
+            long concurrentMillis = run(() -> {
+                for (int i = 0; i < READS_PER_THREAD; i++) {
+                    concurrentFavorites.getFavorite(TYPES[i & 1]);
+                }
+            });
+            System.out.printf("synchronized Favorites = %dms, ConcurrentFavorites = %dms%n",
+                    synchronizedMillis, concurrentMillis);
+        }
+    }
+
+    private static long run(Runnable reader) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(THREADS);
+        long start = System.currentTimeMillis();
+        for (int t = 0; t < THREADS; t++) {
+            new Thread(() -> {
+                reader.run();
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        return System.currentTimeMillis() - start;
+    }
+}
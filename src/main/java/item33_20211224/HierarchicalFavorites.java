@@ -0,0 +1,55 @@
+package item33_20211224;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+// 상위 타입으로도 찾을 수 있는 Favorites
+// String 으로 등록한 값을 CharSequence, Comparable, Object 로도 꺼낼 수 있다.
+// 상위 타입 탐색 결과는 요청한 타입별로 기억해 두었다가 putFavorite 가 호출되면 모두 버린다.
+// 따라서 등록이 바뀌지 않는 동안 같은 타입의 조회는 HashMap 조회 한번으로 끝난다.
+public class HierarchicalFavorites {
+    public static void main(String[] args) {
+        HierarchicalFavorites f = new HierarchicalFavorites();
+
+        f.putFavorite(String.class, "Java");
+        f.putFavorite(Integer.class, 123);
+
+        CharSequence favoriteCharSequence = f.getFavorite(CharSequence.class); // "Java"
+        Number favoriteNumber = f.getFavorite(Number.class);                   // 123
+        Object favoriteObject = f.getFavorite(Object.class);                   // 먼저 등록한 "Java"
+        System.out.println(favoriteCharSequence + " " + favoriteNumber + " " + favoriteObject);
+    }
+
+    // 찾지 못했다는 결과도 기억해 두기 위한 표식
+    private static final Object NONE = new Object();
+
+    // 등록 순서를 유지해서, 요청한 타입의 하위 타입이 여러개 등록되어 있으면 먼저 등록한 것을 반환한다.
+    private final Map<Class<?>, Object> values = new LinkedHashMap<>();
+    private final Map<Class<?>, Object> resolved = new HashMap<>();
+
+    public <T> void putFavorite(Class<T> type, T instance) {
+        values.put(Objects.requireNonNull(type), type.cast(instance));
+        resolved.clear();
+    }
+
+    public <T> T getFavorite(Class<T> type) {
+        Object value = resolved.get(type);
+        if (value == null) {
+            value = resolve(type);
+            resolved.put(type, value);
+        }
+        return value == NONE ? null : type.cast(value);
+    }
+
+    private Object resolve(Class<?> type) {
+        if (values.containsKey(type))
+            return values.get(type) == null ? NONE : values.get(type);
+        for (Map.Entry<Class<?>, Object> entry : values.entrySet()) {
+            if (type.isAssignableFrom(entry.getKey()) && entry.getValue() != null)
+                return entry.getValue();
+        }
+        return NONE;
+    }
+}
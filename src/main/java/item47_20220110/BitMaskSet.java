@@ -0,0 +1,105 @@
+package item47_20220110;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+// 원래 집합의 원소 목록(src)과 비트마스크로 표현한 부분집합 뷰
+// i 번째 비트가 켜져 있으면 src.get(i) 를 포함한다.
+// 원소 64개까지는 long 하나에, 그보다 많으면 long 배열에 비트를 담는다.
+// 밖으로는 불변 Set 으로 보인다. (flip 은 같은 패키지의 Gray 코드 순회에서만 쓴다)
+class BitMaskSet<E> extends AbstractSet<E> {
+    private final List<E> src;
+    private final Map<Object, Integer> indexes; // 원소 -> src 에서의 위치
+    private long bits;          // src 가 64개 이하일 때
+    private final long[] words; // src 가 64개보다 많을 때, 아니면 null
+    private int size;
+
+    BitMaskSet(List<E> src, Map<Object, Integer> indexes, long bits) {
+        this.src = src;
+        this.indexes = indexes;
+        this.bits = bits;
+        this.words = null;
+        this.size = Long.bitCount(bits);
+    }
+
+    BitMaskSet(List<E> src, Map<Object, Integer> indexes, long[] words) {
+        this.src = src;
+        this.indexes = indexes;
+        this.words = words;
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        this.size = count;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        Integer index = indexes.get(o);
+        return index != null && testBit(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int next = nextSetBit(0);
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public E next() {
+                if (next < 0)
+                    throw new NoSuchElementException();
+                E result = src.get(next);
+                next = nextSetBit(next + 1);
+                return result;
+            }
+        };
+    }
+
+    boolean testBit(int i) {
+        if (words == null)
+            return i < 64 && (bits & (1L << i)) != 0;
+        return (i >>> 6) < words.length && (words[i >>> 6] & (1L << i)) != 0;
+    }
+
+    // i 번째 원소를 넣거나 뺀다.
+    void flip(int i) {
+        boolean had = testBit(i);
+        if (words == null)
+            bits ^= 1L << i;
+        else
+            words[i >>> 6] ^= 1L << i;
+        size += had ? -1 : 1;
+    }
+
+    private int nextSetBit(int from) {
+        if (words == null) {
+            if (from >= 64)
+                return -1;
+            long remaining = bits & (-1L << from);
+            return remaining == 0 ? -1 : Long.numberOfTrailingZeros(remaining);
+        }
+        int w = from >>> 6;
+        if (w >= words.length)
+            return -1;
+        long remaining = words[w] & (-1L << from);
+        while (remaining == 0) {
+            if (++w == words.length)
+                return -1;
+            remaining = words[w];
+        }
+        return (w << 6) + Long.numberOfTrailingZeros(remaining);
+    }
+}
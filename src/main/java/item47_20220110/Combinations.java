@@ -0,0 +1,279 @@
+package item47_20220110;
+
+import java.math.BigInteger;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// 원소가 정확히 k 개인 부분집합만 모은 리스트 뷰
+// PowerSet.of 를 걸러서 구하면 2^n 개를 모두 훑어야 하지만, 여기서는 C(n, k) 개만 다룬다.
+// 조합 수 체계(combinatorial number system)로 인덱스와 조합을 서로 바꾼다.
+// i 번째 조합은 c_k > ... > c_1 이고 i = C(c_k, k) + ... + C(c_1, 1) 을 만족하는 원소 위치들이다.
+public class Combinations<E> extends AbstractList<Set<E>> implements RandomAccess {
+    private final List<E> src;
+    private final Map<Object, Integer> indexes;
+    private final int k;
+    private final int size;
+    private final long[][] binomial; // binomial[c][j] = C(c, j), long 범위를 넘으면 Long.MAX_VALUE
+
+    private Combinations(Set<E> s, int k) {
+        this.src = Collections.unmodifiableList(new ArrayList<>(s));
+        Map<Object, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < src.size(); i++) {
+            indexes.put(src.get(i), i);
+        }
+        this.indexes = indexes;
+        this.k = k;
+
+        int n = src.size();
+        this.binomial = new long[n + 1][k + 1];
+        for (int c = 0; c <= n; c++) {
+            binomial[c][0] = 1;
+            for (int j = 1; j <= Math.min(c, k); j++) {
+                long sum = binomial[c - 1][j - 1] + binomial[c - 1][j];
+                binomial[c][j] = sum < 0 ? Long.MAX_VALUE : sum;
+            }
+        }
+        this.size = (int) binomial[n][k];
+    }
+
+    // 조합의 수가 int 범위를 넘으면 예외를 던진다. (Collection 의 size 가 int 이기 때문이다. PowerSet 참고)
+    public static <E> Combinations<E> of(Set<E> s, int k) {
+        if (k < 0 || k > s.size())
+            throw new IllegalArgumentException("k 는 0 이상 " + s.size() + " 이하여야 합니다: " + k);
+        BigInteger count = binomial(s.size(), k);
+        if (count.bitLength() > 31)
+            throw new IllegalArgumentException("조합이 너무 많습니다: C(" + s.size() + ", " + k + ") = " + count);
+        return new Combinations<>(s, k);
+    }
+
+    // 정확한 C(n, k)
+    public static BigInteger binomial(int n, int k) {
+        BigInteger result = BigInteger.ONE;
+        for (int i = 0; i < k; i++) {
+            result = result.multiply(BigInteger.valueOf(n - i)).divide(BigInteger.valueOf(i + 1));
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // k 번의 이진 탐색으로 조합을 구한다. O(k log n)
+    @Override
+    public Set<E> get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        BitMaskSet<E> result = emptyView();
+        int[] positions = new int[k];
+        unrank(index, positions);
+        for (int position : positions) {
+            result.flip(position);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Set) || ((Set<?>) o).size() != k)
+            return false;
+        for (Object e : (Set<?>) o) {
+            if (!indexes.containsKey(e))
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!contains(o))
+            return -1;
+        long rank = 0;
+        int[] positions = new int[k];
+        int j = 0;
+        for (Object e : (Set<?>) o) {
+            positions[j++] = indexes.get(e);
+        }
+        Arrays.sort(positions);
+        for (j = 0; j < k; j++) {
+            rank += binomial[positions[j]][j + 1];
+        }
+        return (int) rank;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    // 조합을 순서대로 내놓는 반복자. 다음 조합으로 넘어갈 때 같은 Set 뷰를 고쳐 쓰므로 할당하지 않는다.
+    // 전달받은 Set 은 next 를 다시 호출하면 바뀐다. 보관하려면 복사하자.
+    public Iterator<Set<E>> reusingIterator() {
+        return new Iterator<Set<E>>() {
+            private final Cursor cursor = new Cursor(0, size);
+
+            @Override
+            public boolean hasNext() {
+                return cursor.hasNext();
+            }
+
+            @Override
+            public Set<E> next() {
+                if (!cursor.hasNext())
+                    throw new NoSuchElementException();
+                return cursor.advance();
+            }
+        };
+    }
+
+    // 인덱스 구간을 나눠 병렬로 처리하는 스트림. 각 구간의 첫 조합만 unrank 하고 이후로는 다음 조합으로 이동한다.
+    // reusingIterator 와 마찬가지로 Set 뷰를 재사용한다.
+    public Stream<Set<E>> reusingStream(boolean parallel) {
+        return StreamSupport.stream(new CombinationSpliterator(0, size), parallel);
+    }
+
+    private BitMaskSet<E> emptyView() {
+        if (src.size() <= 64)
+            return new BitMaskSet<>(src, indexes, 0L);
+        return new BitMaskSet<>(src, indexes, new long[(src.size() + 63) >>> 6]);
+    }
+
+    // 큰 자리부터 C(c, j) <= rank 인 가장 큰 c 를 이진 탐색으로 찾는다.
+    private void unrank(long rank, int[] positions) {
+        int high = src.size();
+        for (int j = k; j >= 1; j--) {
+            int lo = j - 1;
+            int hi = high - 1;
+            while (lo < hi) {
+                int mid = (lo + hi + 1) >>> 1;
+                if (binomial[mid][j] <= rank)
+                    lo = mid;
+                else
+                    hi = mid - 1;
+            }
+            positions[j - 1] = lo;
+            rank -= binomial[lo][j];
+            high = lo;
+        }
+    }
+
+    // [index, fence) 구간의 조합을 차례로 만들어 내는 커서
+    private final class Cursor {
+        private final int[] positions = new int[k];
+        private final BitMaskSet<E> view = emptyView();
+        private long index;
+        private final long fence;
+        private boolean started = false;
+
+        Cursor(long origin, long fence) {
+            this.index = origin;
+            this.fence = fence;
+        }
+
+        boolean hasNext() {
+            return index < fence;
+        }
+
+        BitMaskSet<E> advance() {
+            if (!started) {
+                unrank(index, positions);
+                for (int position : positions) {
+                    view.flip(position);
+                }
+                started = true;
+            } else {
+                successor();
+            }
+            index++;
+            return view;
+        }
+
+        // colex 순서의 다음 조합: 바로 위 위치와 붙어 있지 않은 가장 낮은 위치를 한칸 올리고, 그 아래는 0, 1, 2... 로 되돌린다.
+        private void successor() {
+            int j = 0;
+            while (j < k - 1 && positions[j] + 1 == positions[j + 1]) {
+                j++;
+            }
+            for (int i = 0; i <= j; i++) {
+                view.flip(positions[i]);
+            }
+            positions[j]++;
+            for (int i = 0; i < j; i++) {
+                positions[i] = i;
+            }
+            for (int i = 0; i <= j; i++) {
+                view.flip(positions[i]);
+            }
+        }
+    }
+
+    private final class CombinationSpliterator implements Spliterator<Set<E>> {
+        private static final long SPLIT_THRESHOLD = 1 << 10;
+
+        private long origin;
+        private final long fence;
+        private Cursor cursor;
+
+        CombinationSpliterator(long origin, long fence) {
+            this.origin = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Set<E>> action) {
+            Cursor c = cursor();
+            if (!c.hasNext())
+                return false;
+            action.accept(c.advance());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Set<E>> action) {
+            Cursor c = cursor();
+            while (c.hasNext()) {
+                action.accept(c.advance());
+            }
+        }
+
+        @Override
+        public Spliterator<Set<E>> trySplit() {
+            if (cursor != null || fence - origin < SPLIT_THRESHOLD)
+                return null;
+            long mid = (origin + fence) >>> 1;
+            Spliterator<Set<E>> prefix = new CombinationSpliterator(origin, mid);
+            origin = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return cursor == null ? fence - origin : fence - cursor.index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+
+        private Cursor cursor() {
+            if (cursor == null)
+                cursor = new Cursor(origin, fence);
+            return cursor;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package item47_20220110;
+
+import java.util.HashSet;
+import java.util.Set;
+
+// 원소가 K 개이고 합이 TARGET 인 부분집합의 수를 센다.
+// LongPowerSet 으로 2^N 개를 모두 훑고 크기로 거르는 방법과 Combinations 로 C(N, K) 개만 만드는 방법을 비교한다.
+// stream() 은 조합마다 새 Set 을 만들고, reusingStream 은 Set 뷰 하나를 고쳐 쓴다.
+public class CombinationsEx {
+    private static final int N = 26;
+    private static final int K = 6;
+    private static final int TARGET = 100;
+
+    public static void main(String[] args) {
+        Set<Integer> s = new HashSet<>();
+        for (int i = 1; i <= N; i++) {
+            s.add(i);
+        }
+
+        long start1 = System.currentTimeMillis();
+        long count1 = LongPowerSet.of(s).stream(true)
+                .filter(subset -> subset.size() == K && sum(subset) == TARGET)
+                .count();
+        System.out.println("LongPowerSet.stream(true) + filter : " + count1 + ", " + (System.currentTimeMillis() - start1) + "ms");
+
+        Combinations<Integer> combinations = Combinations.of(s, K);
+
+        long start2 = System.currentTimeMillis();
+        long count2 = combinations.stream()
+                .filter(subset -> sum(subset) == TARGET)
+                .count();
+        System.out.println("Combinations.stream()              : " + count2 + ", " + (System.currentTimeMillis() - start2) + "ms");
+
+        long start3 = System.currentTimeMillis();
+        long count3 = combinations.reusingStream(true)
+                .filter(subset -> sum(subset) == TARGET)
+                .count();
+        System.out.println("Combinations.reusingStream(true)   : " + count3 + ", " + (System.currentTimeMillis() - start3) + "ms");
+
+        // 임의 접근: 인덱스로 바로 조합을 구하고, 조합으로 인덱스를 되돌린다.
+        int middle = combinations.size() / 2;
+        Set<Integer> subset = combinations.get(middle);
+        System.out.println("C(" + N + ", " + K + ") = " + combinations.size()
+                + ", get(" + middle + ") = " + subset + ", indexOf = " + combinations.indexOf(subset));
+    }
+
+    private static int sum(Set<Integer> subset) {
+        int sum = 0;
+        for (int e : subset) {
+            sum += e;
+        }
+        return sum;
+    }
+}
@@ -1,11 +1,120 @@
 package item47_20220110;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+// Iterable 을 Stream 으로 바꾸는 어댑터
+// iterable.spliterator() 의 기본 구현은 크기를 모르는 반복자 기반이라 병렬로 나눌 때 앞쪽부터 조금씩 떼어 배열에 복사한다.
+// 원본이 Collection, RandomAccess 리스트, 배열이면 크기를 알고 반씩 나눌 수 있으므로 그에 맞는 스플리터레이터를 고른다.
 public class IterableStreamEx {
+    private static final int N = 2_000_000;
+
+    public static void main(String[] args) {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < N; i++) {
+            list.add(i);
+        }
+        Iterable<Integer> plain = list::iterator; // Collection 인지 알 수 없는 Iterable
+
+        long start1 = System.currentTimeMillis();
+        long sum1 = StreamSupport.stream(plain.spliterator(), true).mapToLong(Integer::longValue).sum();
+        System.out.println("plain Iterable (parallel)      : " + sum1 + ", " + (System.currentTimeMillis() - start1) + "ms");
+
+        long start2 = System.currentTimeMillis();
+        long sum2 = streamOf(Collections.unmodifiableList(list), true).mapToLong(Integer::longValue).sum();
+        System.out.println("RandomAccess List (parallel)   : " + sum2 + ", " + (System.currentTimeMillis() - start2) + "ms");
+
+        Integer[] array = list.toArray(new Integer[0]);
+        long start3 = System.currentTimeMillis();
+        long sum3 = streamOf(array, true).mapToLong(Integer::longValue).sum();
+        System.out.println("array (parallel)               : " + sum3 + ", " + (System.currentTimeMillis() - start3) + "ms");
+
+        // Stream -> Iterable -> Stream 으로 돌아와도 원래 스플리터레이터의 특성이 유지된다.
+        Iterable<Integer> bridged = StreamIteratorEx.iterableOf(IntStream.range(0, 10).boxed());
+        System.out.println("round trip SIZED : " + streamOf(bridged).spliterator().hasCharacteristics(Spliterator.SIZED));
+    }
 
     public static <E> Stream<E> streamOf(Iterable<E> iterable) {
-        return StreamSupport.stream(iterable.spliterator(), false);
+        return streamOf(iterable, false);
+    }
+
+    public static <E> Stream<E> streamOf(Iterable<E> iterable, boolean parallel) {
+        return StreamSupport.stream(spliteratorOf(iterable), parallel);
+    }
+
+    public static <E> Stream<E> streamOf(E[] array, boolean parallel) {
+        return StreamSupport.stream(Arrays.spliterator(array), parallel);
+    }
+
+    // 원본이 이미 SUBSIZED 스플리터레이터를 제공하면 그대로 쓴다. (ArrayList, 배열 기반 리스트 등)
+    // RandomAccess 리스트는 인덱스 구간을 반씩 나누고, 그 밖의 Collection 은 적어도 크기(SIZED)는 알려준다.
+    private static <E> Spliterator<E> spliteratorOf(Iterable<E> iterable) {
+        Spliterator<E> spliterator = iterable.spliterator();
+        if (spliterator.hasCharacteristics(Spliterator.SUBSIZED))
+            return spliterator;
+        if (iterable instanceof List && iterable instanceof RandomAccess)
+            return new RandomAccessSpliterator<>((List<E>) iterable, 0, ((List<E>) iterable).size());
+        if (iterable instanceof Collection && !spliterator.hasCharacteristics(Spliterator.SIZED))
+            return Spliterators.spliterator((Collection<E>) iterable, spliterator.characteristics());
+        return spliterator;
+    }
+
+    // 인덱스로 원소를 꺼내는 스플리터레이터. 남은 구간을 반으로 나누므로 병렬 작업이 고르게 분배된다.
+    private static final class RandomAccessSpliterator<E> implements Spliterator<E> {
+        private final List<E> list;
+        private int index;
+        private final int fence;
+
+        RandomAccessSpliterator(List<E> list, int origin, int fence) {
+            this.list = list;
+            this.index = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (index >= fence)
+                return false;
+            action.accept(list.get(index++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            for (int i = index; i < fence; i++) {
+                action.accept(list.get(i));
+            }
+            index = fence;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (mid <= index)
+                return null;
+            Spliterator<E> prefix = new RandomAccessSpliterator<>(list, index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
     }
 }
@@ -0,0 +1,180 @@
+package item47_20220110;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// PowerSet.of 는 Collection 의 size 가 int 라서 원소 30개까지만 다룰 수 있고,
+// get 할 때마다 HashSet 을 새로 만들어 원소를 채운다.
+// LongPowerSet 은 long 인덱스(원소 62개까지. 2^63 은 long 으로 나타낼 수 없다)나 BigInteger 인덱스(그 이상)로 부분집합을 꺼낸다.
+// get 은 비트마스크를 감싼 불변 Set 뷰를 반환하므로 원소를 복사하지 않는다.
+// 크기가 int 범위를 넘을 수 있으므로 Collection 을 구현하지 않는다.
+public class LongPowerSet<E> {
+    public static final int MAX_LONG_INDEXED_SIZE = 62;
+
+    private final List<E> src;
+    private final Map<Object, Integer> indexes;
+
+    private LongPowerSet(Set<E> s) {
+        this.src = Collections.unmodifiableList(new ArrayList<>(s));
+        Map<Object, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < src.size(); i++) {
+            indexes.put(src.get(i), i);
+        }
+        this.indexes = indexes;
+    }
+
+    public static <E> LongPowerSet<E> of(Set<E> s) {
+        return new LongPowerSet<>(s);
+    }
+
+    // 원래 집합의 원소 수
+    public int elementCount() {
+        return src.size();
+    }
+
+    // 부분집합의 수 2^n. 원소가 62개를 넘으면 ArithmeticException (bigSize 를 쓰자)
+    public long size() {
+        if (src.size() > MAX_LONG_INDEXED_SIZE)
+            throw new ArithmeticException("long 범위를 넘습니다. bigSize() 를 사용하세요: 2^" + src.size());
+        return 1L << src.size();
+    }
+
+    public BigInteger bigSize() {
+        return BigInteger.ONE.shiftLeft(src.size());
+    }
+
+    // index 의 i 번째 비트가 켜져 있으면 i 번째 원소를 포함하는 부분집합
+    public Set<E> get(long index) {
+        if (src.size() > MAX_LONG_INDEXED_SIZE) {
+            if (index < 0)
+                throw new IndexOutOfBoundsException("index: " + index);
+            return new BitMaskSet<>(src, indexes, words(BigInteger.valueOf(index)));
+        }
+        if (index < 0 || index >= size())
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size());
+        return new BitMaskSet<>(src, indexes, index);
+    }
+
+    public Set<E> get(BigInteger index) {
+        if (index.signum() < 0 || index.bitLength() > src.size())
+            throw new IndexOutOfBoundsException("index: " + index + ", size: 2^" + src.size());
+        if (src.size() <= 64)
+            return new BitMaskSet<>(src, indexes, index.longValue());
+        return new BitMaskSet<>(src, indexes, words(index));
+    }
+
+    // o 가 원래 집합의 부분집합인지 확인한다.
+    public boolean contains(Object o) {
+        if (!(o instanceof Set))
+            return false;
+        for (Object e : (Set<?>) o) {
+            if (!indexes.containsKey(e))
+                return false;
+        }
+        return true;
+    }
+
+    // 부분집합 s 의 인덱스 (get 의 역함수)
+    public BigInteger indexOf(Set<?> s) {
+        BigInteger index = BigInteger.ZERO;
+        for (Object e : s) {
+            Integer i = indexes.get(e);
+            if (i == null)
+                throw new IllegalArgumentException("원래 집합의 원소가 아닙니다: " + e);
+            index = index.setBit(i);
+        }
+        return index;
+    }
+
+    // 모든 부분집합을 Gray 코드 순서로 순회하는 스플리터레이터 (원소 62개까지)
+    // 인덱스 구간을 반씩 나누어 ForkJoin 워커들에 나눠주고, 각 구간 안에서는 Gray 코드 순서로 걸어서
+    // 한 걸음마다 원소 하나만 넣거나 빼며 같은 Set 뷰를 재사용한다. 부분집합마다 Set 을 새로 만들지 않는다.
+    // 따라서 소비자에게 전달된 Set 은 다음 원소로 넘어가면 바뀐다. 보관하려면 new HashSet<>(set) 처럼 복사하자.
+    // 원소가 62개를 넘으면 부분집합의 수가 long 범위를 넘어서 fence 를 나타낼 수 없으므로 예외를 던진다.
+    public Spliterator<Set<E>> spliterator() {
+        if (src.size() > MAX_LONG_INDEXED_SIZE)
+            throw new UnsupportedOperationException("원소가 " + MAX_LONG_INDEXED_SIZE + "개를 넘는 집합은 순회할 수 없습니다: " + src.size());
+        return new GrayCodeSpliterator(0, size());
+    }
+
+    public Stream<Set<E>> stream(boolean parallel) {
+        return StreamSupport.stream(spliterator(), parallel);
+    }
+
+    private final class GrayCodeSpliterator implements Spliterator<Set<E>> {
+        private static final long SPLIT_THRESHOLD = 1 << 10;
+
+        private long index; // 다음에 방문할 인덱스
+        private final long fence;
+        private BitMaskSet<E> view;
+
+        GrayCodeSpliterator(long origin, long fence) {
+            this.index = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Set<E>> action) {
+            if (index >= fence)
+                return false;
+            step();
+            action.accept(view);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Set<E>> action) {
+            while (index < fence) {
+                step();
+                action.accept(view);
+            }
+        }
+
+        // index 번째 Gray 코드(index ^ (index >>> 1))가 되도록 뷰를 맞춘다.
+        // 이웃한 Gray 코드는 index 의 가장 낮은 켜진 비트 자리 하나만 다르다.
+        private void step() {
+            if (view == null)
+                view = new BitMaskSet<>(src, indexes, index ^ (index >>> 1));
+            else
+                view.flip(Long.numberOfTrailingZeros(index));
+            index++;
+        }
+
+        @Override
+        public Spliterator<Set<E>> trySplit() {
+            if (view != null || fence - index < SPLIT_THRESHOLD)
+                return null;
+            long mid = (index + fence) >>> 1;
+            Spliterator<Set<E>> prefix = new GrayCodeSpliterator(index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+    }
+
+    private long[] words(BigInteger index) {
+        long[] words = new long[(src.size() + 63) >>> 6];
+        for (int w = 0; w < words.length; w++) {
+            words[w] = index.shiftRight(w << 6).longValue();
+        }
+        return words;
+    }
+}
@@ -0,0 +1,45 @@
+package item47_20220110;
+
+import java.util.HashSet;
+import java.util.Set;
+
+// 부분집합 전체 탐색: 합이 TARGET 인 부분집합의 수를 센다.
+// PowerSet.of 는 AbstractList 의 스플리터레이터를 쓰고 부분집합마다 HashSet 을 새로 만든다.
+// LongPowerSet 의 스트림은 인덱스 구간을 나눠 병렬로 돌고, 구간 안에서는 Set 뷰 하나를 재사용한다.
+public class PowerSetStreamEx {
+    private static final int N = 22;
+    private static final int TARGET = 100;
+
+    public static void main(String[] args) {
+        Set<Integer> s = new HashSet<>();
+        for (int i = 1; i <= N; i++) {
+            s.add(i);
+        }
+
+        long start1 = System.currentTimeMillis();
+        long count1 = PowerSet.of(s).stream()
+                .filter(subset -> sum(subset) == TARGET)
+                .count();
+        System.out.println("PowerSet.of().stream()            : " + count1 + ", " + (System.currentTimeMillis() - start1) + "ms");
+
+        long start2 = System.currentTimeMillis();
+        long count2 = LongPowerSet.of(s).stream(false)
+                .filter(subset -> sum(subset) == TARGET)
+                .count();
+        System.out.println("LongPowerSet.stream(false)        : " + count2 + ", " + (System.currentTimeMillis() - start2) + "ms");
+
+        long start3 = System.currentTimeMillis();
+        long count3 = LongPowerSet.of(s).stream(true)
+                .filter(subset -> sum(subset) == TARGET)
+                .count();
+        System.out.println("LongPowerSet.stream(true)         : " + count3 + ", " + (System.currentTimeMillis() - start3) + "ms");
+    }
+
+    private static int sum(Set<Integer> subset) {
+        int sum = 0;
+        for (int e : subset) {
+            sum += e;
+        }
+        return sum;
+    }
+}
@@ -1,7 +1,11 @@
 package item47_20220110;
 
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 public class StreamIteratorEx {
@@ -22,7 +26,38 @@ public class StreamIteratorEx {
         }
     }
 
+    // Stream 을 한번만 순회할 수 있는 Iterable 로 감싼다.
+    // 스트림의 스플리터레이터를 그대로 내주므로, 다시 스트림으로 바꿀 때 (IterableStreamEx.streamOf)
+    // Iterator 를 한번 더 감싸서 배열에 버퍼링하지 않고 크기와 분할 특성도 유지된다.
     public static <E> Iterable<E> iterableOf(Stream<E> stream) {
-        return stream::iterator;
+        return new StreamIterable<>(stream);
+    }
+
+    private static final class StreamIterable<E> implements Iterable<E> {
+        private Stream<E> stream;
+
+        StreamIterable(Stream<E> stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return Spliterators.iterator(spliterator());
+        }
+
+        @Override
+        public void forEach(Consumer<? super E> action) {
+            spliterator().forEachRemaining(action);
+        }
+
+        // spliterator() 는 스트림의 종단 연산이다. 두번째 호출은 스트림처럼 IllegalStateException 을 던진다.
+        @Override
+        public Spliterator<E> spliterator() {
+            if (stream == null)
+                throw new IllegalStateException("스트림은 한번만 순회할 수 있습니다.");
+            Spliterator<E> spliterator = stream.spliterator();
+            stream = null;
+            return spliterator;
+        }
     }
 }
@@ -0,0 +1,123 @@
+package item6_20210422;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+// 작업을 실행하면서 연산 하나당 할당한 바이트 수, GC 횟수와 GC 시간을 잰다.
+// 할당량은 현재 스레드의 누적 할당 바이트(com.sun.management.ThreadMXBean)로 계산하므로
+// workload 는 profile 을 호출한 스레드에서 실행되어야 한다.
+public class AllocationProfiler {
+    private static final int WARMUP_RUNS = 3;
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final List<Result> results = new ArrayList<>();
+
+    public static class Result {
+        private final String name;
+        private final long operations;
+        private final long allocatedBytes;
+        private final long gcCount;
+        private final long gcMillis;
+        private final long elapsedMillis;
+
+        private Result(String name, long operations, long allocatedBytes,
+                       long gcCount, long gcMillis, long elapsedMillis) {
+            this.name = name;
+            this.operations = operations;
+            this.allocatedBytes = allocatedBytes;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public double bytesPerOperation() {
+            return (double) allocatedBytes / operations;
+        }
+
+        public long allocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public long gcCount() {
+            return gcCount;
+        }
+
+        public long gcMillis() {
+            return gcMillis;
+        }
+
+        public long elapsedMillis() {
+            return elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-36s %14.1f %8d %10d %10d",
+                    name, bytesPerOperation(), gcCount, gcMillis, elapsedMillis);
+        }
+    }
+
+    // workload.run() 한번이 operations 번의 연산을 수행한다고 보고 측정한다.
+    public Result profile(String name, long operations, Runnable workload) {
+        if (operations <= 0)
+            throw new IllegalArgumentException("operations 는 양수여야 합니다: " + operations);
+        if (!THREAD_MX_BEAN.isThreadAllocatedMemorySupported())
+            throw new UnsupportedOperationException("스레드별 할당량 측정을 지원하지 않는 JVM 입니다.");
+        THREAD_MX_BEAN.setThreadAllocatedMemoryEnabled(true);
+
+        // JIT 워밍업
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            workload.run();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long gcCountBefore = gcCount();
+        long gcMillisBefore = gcMillis();
+        long allocatedBefore = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+        long start = System.currentTimeMillis();
+
+        workload.run();
+
+        long elapsed = System.currentTimeMillis() - start;
+        long allocated = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        Result result = new Result(name, operations, allocated,
+                gcCount() - gcCountBefore, gcMillis() - gcMillisBefore, elapsed);
+        results.add(result);
+        return result;
+    }
+
+    public List<Result> results() {
+        return new ArrayList<>(results);
+    }
+
+    public void printTable() {
+        System.out.printf("%-36s %14s %8s %10s %10s%n", "workload", "bytes/op", "GC 횟수", "GC(ms)", "시간(ms)");
+        for (Result result : results) {
+            System.out.println(result);
+        }
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+}
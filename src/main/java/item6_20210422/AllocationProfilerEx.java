@@ -0,0 +1,90 @@
+package item6_20210422;
+
+import java.util.Collections;
+import java.util.List;
+
+// 아이템6, 아이템61, 아이템63 의 안티패턴과 개선한 코드의 할당량을 표로 비교한다.
+public class AllocationProfilerEx {
+    private static final int OPERATIONS = 10_000_000;
+    private static final List<String> ITEMS = Collections.nCopies(1_000, "item");
+
+    // JIT 가 결과를 버리지 못하게 담아둔다.
+    static volatile Object sink;
+
+    public static void main(String[] args) {
+        AllocationProfiler profiler = new AllocationProfiler();
+
+        // AntiPatternEx1 / GoodPatternEx1
+        profiler.profile("new String(\"charlie\")", OPERATIONS, () -> {
+            for (int i = 0; i < OPERATIONS; i++) {
+                sink = new String("charlie");
+            }
+        });
+        profiler.profile("\"charlie\" 리터럴", OPERATIONS, () -> {
+            for (int i = 0; i < OPERATIONS; i++) {
+                sink = "charlie";
+            }
+        });
+
+        // AntiPatternEx2
+        profiler.profile("new Boolean(\"true\")", OPERATIONS, () -> {
+            for (int i = 0; i < OPERATIONS; i++) {
+                @SuppressWarnings("removal")
+                Boolean b = new Boolean("true");
+                sink = b;
+            }
+        });
+        profiler.profile("Boolean.valueOf(\"true\")", OPERATIONS, () -> {
+            for (int i = 0; i < OPERATIONS; i++) {
+                sink = Boolean.valueOf("true");
+            }
+        });
+
+        // AntiPatternEx3 / GoodPatternEx3
+        profiler.profile("String.matches", OPERATIONS / 100, () -> {
+            for (int i = 0; i < OPERATIONS / 100; i++) {
+                sink = "MCMLXXVI".matches("^(?=.)M*(C[MD]|D?C{0,3})"
+                        + "(X[CL]|L?X{0,3})(I[XV]|V?I{0,3})$");
+            }
+        });
+        profiler.profile("캐시한 Pattern", OPERATIONS / 100, () -> {
+            for (int i = 0; i < OPERATIONS / 100; i++) {
+                sink = GoodPatternEx3.isRomanNumeral("MCMLXXVI");
+            }
+        });
+
+        // AntiPatternEx4, 아이템61 AutoBoxingEx / GoodPatternEx4
+        profiler.profile("Long sum += i", OPERATIONS, () -> {
+            Long sum = 0L;
+            for (long i = 0; i < OPERATIONS; i++) {
+                sum += i;
+            }
+            sink = sum;
+        });
+        profiler.profile("long sum += i", OPERATIONS, () -> {
+            long sum = 0L;
+            for (long i = 0; i < OPERATIONS; i++) {
+                sum += i;
+            }
+            sink = sum;
+        });
+
+        // 아이템63 ItemStatementEx / ItemStatementEx2
+        profiler.profile("String += (원소 1000개)", ITEMS.size(), () -> {
+            String result = "";
+            for (String item : ITEMS) {
+                result += item;
+            }
+            sink = result;
+        });
+        profiler.profile("StringBuilder.append (원소 1000개)", ITEMS.size(), () -> {
+            StringBuilder result = new StringBuilder();
+            for (String item : ITEMS) {
+                result.append(item);
+            }
+            sink = result.toString();
+        });
+
+        profiler.printTable();
+    }
+}
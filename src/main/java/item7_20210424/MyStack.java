@@ -22,7 +22,7 @@ public class MyStack {
         if (size == 0) {
             throw new EmptyStackException();
         }
-        Object result = elements[size--];
+        Object result = elements[--size];
         elements[size] = null;
         return result;
     }